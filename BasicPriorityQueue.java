@@ -0,0 +1,33 @@
+/**
+ * This is an interface for the operations every Priority Queue supports:
+ * inserting an element, and peeking at or removing the element with the highest
+ * priority. PriorityQueue adds increaseValue by index, which only priority
+ * queues that keep their elements at stable array indices can offer.
+ * 
+ * @author Xueying Xu (Shirley)
+ * @param <T>
+ */
+public interface BasicPriorityQueue<T extends Comparable<T>> {
+
+	/**
+	 * Inserts a new element in the priority queue.
+	 * 
+	 * @param element
+	 */
+	public void insert(T element);
+
+	/**
+	 * Returns the element with the highest priority.
+	 * 
+	 * @return the element with the highest priority
+	 */
+	public T maximum();
+
+	/**
+	 * Removes and returns the element with the highest priority.
+	 * 
+	 * @return the element with the highest priority
+	 */
+	public T extractMaximum();
+
+}
@@ -1,4 +1,9 @@
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 
 /**
  * Binary Heap data structure implemented with an array.
@@ -11,6 +16,23 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 	private T[] data;
 	// keep track of the heap size (different from the capacity)
 	private int heapSize;
+	// the heap never shrinks below the capacity it was created with
+	private int minimumCapacity;
+	// factor by which the capacity is multiplied when the heap has to grow
+	private double growthFactor = DEFAULT_GROWTH_FACTOR;
+	// the heap shrinks once its size drops below this fraction of the capacity
+	private double shrinkThreshold = DEFAULT_SHRINK_THRESHOLD;
+	// operation counters, only allocated and updated when HeapStats.ENABLED
+	private final HeapStats stats = HeapStats.ENABLED ? new HeapStats() : null;
+	// number of changes to the order of the elements, for fail-fast iterators
+	private int modCount;
+	// orders the elements instead of compareTo if not null
+	private Comparator<? super T> comparator;
+
+	/** The default factor by which the capacity grows **/
+	public static final double DEFAULT_GROWTH_FACTOR = 1.5;
+	/** The default fraction of the capacity below which the heap shrinks **/
+	public static final double DEFAULT_SHRINK_THRESHOLD = 0.25;
 
 	/**
 	 * Constructs an empty binary heap with a given capacity.
@@ -20,6 +42,21 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 	public BinaryHeap(int capacity) {
 		data = (T[]) new Comparable[capacity];
 		heapSize = 0;
+		minimumCapacity = capacity;
+	}
+
+	/**
+	 * Constructs an empty binary heap with a given capacity whose elements are
+	 * ordered by a comparator instead of compareTo: the element the comparator
+	 * ranks highest is the root. For example, Collections.reverseOrder() turns
+	 * the heap into a min-heap.
+	 * 
+	 * @param capacity
+	 * @param comparator
+	 */
+	public BinaryHeap(int capacity, Comparator<? super T> comparator) {
+		this(capacity);
+		this.comparator = comparator;
 	}
 
 	/**
@@ -30,9 +67,26 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 	public BinaryHeap(Comparable[] arr) {
 		data = (T[]) arr;
 		heapSize = arr.length;
+		minimumCapacity = arr.length;
 		buildMaxHeap(arr); // make the array a heap
 	}
 
+	/**
+	 * Returns a binary heap that uses the given array as is. The array must
+	 * already satisfy the heap property, e.g. because it was saved from another
+	 * heap, so the O(n) buildMaxHeap pass is skipped.
+	 * 
+	 * @param arr
+	 * @return a binary heap backed by arr
+	 */
+	public static <T extends Comparable<T>> BinaryHeap<T> fromHeapOrdered(Comparable[] arr) {
+		BinaryHeap<T> heap = new BinaryHeap<T>(0);
+		heap.data = (T[]) arr;
+		heap.heapSize = arr.length;
+		heap.minimumCapacity = arr.length;
+		return heap;
+	}
+
 	/**
 	 * Constructs a new binary heap with a specified capacity and a given array.
 	 * 
@@ -42,10 +96,21 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 	public BinaryHeap(int capacity, Comparable[] arr) {
 		data = (T[]) new Comparable[capacity];
 		heapSize = arr.length;
-		buildMaxHeap(arr);
+		minimumCapacity = capacity;
 		//Creates a BinaryHeap of capacity n
 	    //Starting with the elements in arr
-		System.arraycopy(arr, 0, data, 0, arr.length); 
+		System.arraycopy(arr, 0, data, 0, arr.length);
+		buildMaxHeap(data);
+	}
+
+	/**
+	 * Returns the comparator ordering the heap, or null if the elements are
+	 * ordered by compareTo.
+	 * 
+	 * @return the comparator of the heap, or null
+	 */
+	public Comparator<? super T> getComparator() {
+		return comparator;
 	}
 
 	/**
@@ -81,7 +146,136 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 	 * @param newCapacity
 	 */
 	public void setCapacity(int newCapacity) {
+		// no event is allocated unless a recording has the event enabled
+		HeapResizeEvent event = HeapResizeEvent.isRecorded() ? new HeapResizeEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
+		int oldCapacity = data.length;
 		data = Arrays.copyOf(data, newCapacity);
+		if (HeapStats.ENABLED) {
+			stats.resizes++;
+		}
+		if (event != null && event.shouldCommit()) {
+			event.oldCapacity = oldCapacity;
+			event.newCapacity = newCapacity;
+			event.size = heapSize;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Returns a snapshot of the operation counters of the heap together with its
+	 * current size and capacity. The counters stay 0 unless the JVM runs with
+	 * -Dbinaryheap.stats=true.
+	 * 
+	 * @return a snapshot of the heap statistics
+	 */
+	public HeapStats getStats() {
+		return (stats == null ? new HeapStats() : stats).snapshot(heapSize, data.length);
+	}
+
+	/**
+	 * Sets all operation counters of the heap to 0.
+	 */
+	public void resetStats() {
+		if (stats != null) {
+			stats.reset();
+		}
+	}
+
+	/**
+	 * Compares two elements, counting the comparison when statistics are enabled.
+	 * 
+	 * @param a
+	 * @param b
+	 * @return the result of comparing a with b
+	 */
+	private int compare(Comparable a, Comparable b) {
+		if (HeapStats.ENABLED) {
+			stats.comparisons++;
+		}
+		return comparator == null ? a.compareTo(b) : comparator.compare((T) a, (T) b);
+	}
+
+	/**
+	 * Makes sure the heap can hold at least minCapacity elements. The capacity
+	 * grows geometrically by the growth factor, so a sequence of n insertions
+	 * copies the array O(log n) times instead of once per insertion.
+	 * 
+	 * @param minCapacity
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > data.length) {
+			int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8, (long) (data.length * growthFactor));
+			if (newCapacity < minCapacity) {
+				newCapacity = minCapacity;
+			}
+			setCapacity(newCapacity);
+		}
+	}
+
+	/**
+	 * Trims the capacity of the heap to its current size.
+	 */
+	public void trimToSize() {
+		if (heapSize < data.length) {
+			setCapacity(heapSize);
+		}
+	}
+
+	/**
+	 * Returns the factor by which the capacity grows.
+	 * 
+	 * @return the growth factor
+	 */
+	public double getGrowthFactor() {
+		return growthFactor;
+	}
+
+	/**
+	 * Sets the factor by which the capacity grows. It must be greater than 1.
+	 * 
+	 * @param growthFactor
+	 */
+	public void setGrowthFactor(double growthFactor) {
+		if (!(growthFactor > 1)) {
+			throw new IllegalArgumentException("The growth factor must be greater than 1: " + growthFactor);
+		}
+		this.growthFactor = growthFactor;
+	}
+
+	/**
+	 * Returns the fraction of the capacity below which removeRoot shrinks the heap.
+	 * 
+	 * @return the shrink threshold
+	 */
+	public double getShrinkThreshold() {
+		return shrinkThreshold;
+	}
+
+	/**
+	 * Sets the fraction of the capacity below which removeRoot shrinks the heap.
+	 * It must be between 0 (never shrink) and 0.5, so that a shrunk heap is never
+	 * immediately full again.
+	 * 
+	 * @param shrinkThreshold
+	 */
+	public void setShrinkThreshold(double shrinkThreshold) {
+		if (!(shrinkThreshold >= 0 && shrinkThreshold <= 0.5)) {
+			throw new IllegalArgumentException("The shrink threshold must be between 0 and 0.5: " + shrinkThreshold);
+		}
+		this.shrinkThreshold = shrinkThreshold;
+	}
+
+	/**
+	 * Halves the capacity when the size has dropped below the shrink threshold,
+	 * but never below the capacity the heap was created with.
+	 */
+	private void shrinkIfNeeded() {
+		if (data.length > minimumCapacity && heapSize < data.length * shrinkThreshold) {
+			setCapacity(Math.max(minimumCapacity, data.length / 2));
+		}
 	}
 
 	/**
@@ -91,6 +285,18 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 	 */
 	public void setSize(int newSize) {
 		heapSize = newSize;
+		modCount++;
+	}
+
+	/**
+	 * Returns the number of changes made to the elements of the heap so far. The
+	 * count changes whenever an element is added, removed or moved, so a view of
+	 * the heap computed earlier is still valid if the count is the same.
+	 * 
+	 * @return the number of changes made to the heap
+	 */
+	public int getModCount() {
+		return modCount;
 	}
 
 	/**
@@ -146,46 +352,78 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 		T temp = data[index1];
 		data[index1] = data[index2];
 		data[index2] = temp;
+		modCount++;
+		if (HeapStats.ENABLED) {
+			stats.moves += 2;
+		}
 	}
 
 	/**
 	 * maxHeapify lets the value at array[index] "float down" in the max-heap so
-	 * that the subtree rooted at index obeys the max-heap property.
+	 * that the subtree rooted at index obeys the max-heap property. The value is
+	 * held aside while larger children move up into the hole, so every level
+	 * costs one write instead of a three-way swap.
 	 * 
 	 * @param array
 	 * @param index
 	 */
 	public void maxHeapify(Comparable[] array, int index) {
-		int leftIdx = leftChild(index);
-		int rightIdx = rightChild(index);
-		int largest = 0;
-		// make sure the current node with the specified index has a left child
-		if (leftIdx < heapSize && (array[leftIdx].compareTo(array[index]) > 0)) {
-			largest = leftIdx;
-		} else {
-			largest = index;
-		}
-		// make sure the current node with the specified index has a right child
-		if (rightIdx < heapSize && (array[rightIdx].compareTo(array[largest]) > 0)) {
-			largest = rightIdx;
+		modCount++;
+		Comparable value = array[index];
+		int depth = 0;
+		// only nodes before half have a left child
+		int half = heapSize >>> 1;
+		while (index < half) {
+			int largest = 2 * index + 1;
+			int rightIdx = largest + 1;
+			// pick the larger child
+			if (rightIdx < heapSize && compare(array[rightIdx], array[largest]) > 0) {
+				largest = rightIdx;
+			}
+			// the heap property holds once no child is larger than the value
+			if (compare(array[largest], value) <= 0) {
+				break;
+			}
+			array[index] = array[largest];
+			index = largest;
+			depth++;
 		}
-		// restore the max heap property
-		if (largest != index) {
-			swap(index, largest);
-			maxHeapify(array, largest); // recursion
+		array[index] = value;
+		if (HeapStats.ENABLED) {
+			stats.moves += depth;
+			stats.recordSift(depth);
 		}
 	}
 
 	/**
 	 * Converts an array into a max heap. 
 	 * It rearranges elements of the array so the array satisfies the heap property.
+	 * Heaps of at least HeapSort.PARALLEL_THRESHOLD elements ordered by compareTo
+	 * are built in parallel (their comparisons are not counted in the statistics).
 	 * 
 	 * @param array
 	 */
 	public void buildMaxHeap(Comparable[] array) {
-		// maxHeapifying the elements starting from the middle of the array (non-leaf nodes)
-		for (int i = array.length / 2 - 1; i >= 0; i--) {
-			maxHeapify(array, i);
+		HeapBuildEvent event = HeapBuildEvent.isRecorded() ? new HeapBuildEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
+		int size = Math.min(array.length, heapSize);
+		if (size >= HeapSort.PARALLEL_THRESHOLD && comparator == null) {
+			HeapSort.buildMaxHeap(array, size);
+			modCount++;
+		} else {
+			// maxHeapifying the elements starting from the middle of the array (non-leaf nodes)
+			for (int i = size / 2 - 1; i >= 0; i--) {
+				maxHeapify(array, i);
+			}
+		}
+		if (HeapStats.ENABLED) {
+			stats.builds++;
+		}
+		if (event != null && event.shouldCommit()) {
+			event.size = heapSize;
+			event.commit();
 		}
 	}
 
@@ -200,6 +438,7 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 			System.out.println("The heap is full.");
 			return;
 		} else {
+			modCount++;
 			data[heapSize] = value; // add the new value at the end of the heap
 			heapSize++;
 			heapUp(data, heapSize - 1); // move the new value up to the right place
@@ -207,15 +446,76 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 	}
 
 	/**
-	 * Moves a value stored at index i up in the heap.
+	 * Adds length values of the given array, starting at offset, to the heap,
+	 * growing it if needed. When the batch is large relative to the heap it is
+	 * cheaper to append everything and rebuild the heap in O(n) than to move each
+	 * new value up in O(log n), so the cheaper of the two is used.
+	 * 
+	 * @param values
+	 * @param offset
+	 * @param length
+	 */
+	public void addAll(Comparable[] values, int offset, int length) {
+		if (length == 0) {
+			return;
+		}
+		ensureCapacity(heapSize + length);
+		System.arraycopy(values, offset, data, heapSize, length);
+		int oldSize = heapSize;
+		heapSize += length;
+		modCount++;
+		// log2 of the new size
+		int height = 31 - Integer.numberOfLeadingZeros(heapSize);
+		if ((long) length * height > heapSize) {
+			buildMaxHeap(data);
+		} else {
+			for (int i = oldSize; i < heapSize; i++) {
+				heapUp(data, i);
+			}
+		}
+	}
+
+	/**
+	 * Adds all the values of another heap to this heap, leaving the other heap
+	 * unchanged. If this heap is empty and ordered the same way, the values are
+	 * copied in heap order as they are, without rebuilding the heap.
+	 * 
+	 * @param other
+	 */
+	public void addAll(BinaryHeap<T> other) {
+		if (heapSize == 0 && other.heapSize > 0 && Objects.equals(comparator, other.comparator)) {
+			ensureCapacity(other.heapSize);
+			System.arraycopy(other.data, 0, data, 0, other.heapSize);
+			heapSize = other.heapSize;
+			modCount++;
+			return;
+		}
+		addAll(other.data, 0, other.heapSize);
+	}
+
+	/**
+	 * Moves a value stored at index i up in the heap. Smaller parents move down
+	 * into the hole, and the value is written once at its final position.
 	 * 
 	 * @param array
 	 * @param i
 	 */
 	private void heapUp(T[] array, int i) {
-		while (i > 0 && (array[parent(i)].compareTo(array[i]) < 0)) {
-			swap(parent(i), i); // restore the heap property
-			i = parent(i);
+		T value = array[i];
+		int depth = 0;
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (compare(array[parent], value) >= 0) {
+				break;
+			}
+			array[i] = array[parent]; // restore the heap property
+			i = parent;
+			depth++;
+		}
+		array[i] = value;
+		if (HeapStats.ENABLED) {
+			stats.moves += depth;
+			stats.recordSift(depth);
 		}
 	}
 
@@ -227,6 +527,21 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 			data[i] = null;
 		}
 		heapSize = 0;
+		modCount++;
+	}
+
+	/**
+	 * Returns an iterator over the elements of the heap in priority order, from
+	 * the maximum down, that leaves the heap unchanged. The next element is
+	 * always the root or a child of an element already returned, so the iterator
+	 * keeps a small auxiliary heap of candidate indices and returning the first k
+	 * elements takes O(k log k). The iterator fails with a
+	 * ConcurrentModificationException if the heap is modified while it is used.
+	 * 
+	 * @return an iterator over the elements in priority order
+	 */
+	public Iterator<T> sortedIterator() {
+		return new SortedIterator();
 	}
 
 	/**
@@ -266,7 +581,7 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 	public static Integer[] convertToIntegerArray(int[] a) {
 		Integer[] integerA = new Integer[a.length];
 		for (int i = 0; i < a.length; i++) {
-			integerA[i] = new Integer(a[i]);
+			integerA[i] = Integer.valueOf(a[i]);
 		}
 		return integerA;
 	}
@@ -274,6 +589,12 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 	/**
 	 * Removes and returns the maximum element in the heap.
 	 * 
+	 * Uses Floyd's bottom-up variant: the hole left by the root is moved down
+	 * along the path of larger children all the way to a leaf (one comparison per
+	 * level), and then the last element is moved up from there. The last element
+	 * almost always belongs near the bottom, so this needs about half the
+	 * comparisons of sifting it down from the root.
+	 * 
 	 * @return the maximum element in the heap
 	 */
 	public T removeRoot() {
@@ -282,11 +603,32 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 		} else {
 			// store the maximum value
 			T maximum = getElement(0);
-			data[0] = data[heapSize - 1];
-			data[heapSize - 1] = null;
 			heapSize--;
-			// maintain the heap property
-			maxHeapify(data, 0);
+			modCount++;
+			T last = data[heapSize];
+			data[heapSize] = null;
+			if (heapSize > 0) {
+				// move the hole down to a leaf
+				int hole = 0;
+				int child;
+				int depth = 0;
+				while ((child = 2 * hole + 1) < heapSize) {
+					if (child + 1 < heapSize && compare(data[child + 1], data[child]) > 0) {
+						child++;
+					}
+					data[hole] = data[child];
+					hole = child;
+					depth++;
+				}
+				if (HeapStats.ENABLED) {
+					stats.moves += depth;
+					stats.recordSift(depth);
+				}
+				// maintain the heap property
+				data[hole] = last;
+				heapUp(data, hole);
+			}
+			shrinkIfNeeded();
 			return maximum;
 		}
 	}
@@ -301,11 +643,96 @@ public class BinaryHeap<T extends Comparable<T>> implements Heap<T> {
 	 * @param element
 	 */
 	public void increaseValue(int index, T element) {	
-		if (element.compareTo(data[index]) < 0) {
+		if (compare(element, data[index]) < 0) {
 			System.err.println("The value of the new element is smaller than the value of the original element.");
 		} else {
 			data[index] = element;
+			modCount++;
 			heapUp(data, index);
 		}
 	}
+
+	/**
+	 * SortedIterator walks the heap in priority order with a max-heap of the
+	 * indices of the candidates, ordered by the elements they refer to.
+	 */
+	private class SortedIterator implements Iterator<T> {
+		private final int expectedModCount = modCount;
+		// heap of candidate indices
+		private int[] candidates = new int[8];
+		private int count;
+
+		SortedIterator() {
+			if (heapSize > 0) {
+				candidates[count++] = 0;
+			}
+		}
+
+		public boolean hasNext() {
+			return count > 0;
+		}
+
+		public T next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (count == 0) {
+				throw new NoSuchElementException();
+			}
+			int index = candidates[0];
+			int last = candidates[--count];
+			if (count > 0) {
+				siftDown(last);
+			}
+			// the children of the returned element become candidates
+			int left = 2 * index + 1;
+			if (left < heapSize) {
+				add(left);
+			}
+			if (left + 1 < heapSize) {
+				add(left + 1);
+			}
+			return data[index];
+		}
+
+		/**
+		 * Puts a candidate at the root of the candidate heap and moves it down.
+		 */
+		private void siftDown(int candidate) {
+			T value = data[candidate];
+			int hole = 0;
+			int child;
+			while ((child = 2 * hole + 1) < count) {
+				if (child + 1 < count && compare(data[candidates[child + 1]], data[candidates[child]]) > 0) {
+					child++;
+				}
+				if (compare(data[candidates[child]], value) <= 0) {
+					break;
+				}
+				candidates[hole] = candidates[child];
+				hole = child;
+			}
+			candidates[hole] = candidate;
+		}
+
+		/**
+		 * Adds a candidate at the end of the candidate heap and moves it up.
+		 */
+		private void add(int candidate) {
+			if (count == candidates.length) {
+				candidates = Arrays.copyOf(candidates, 2 * count);
+			}
+			T value = data[candidate];
+			int hole = count++;
+			while (hole > 0) {
+				int parent = (hole - 1) >>> 1;
+				if (compare(data[candidates[parent]], value) >= 0) {
+					break;
+				}
+				candidates[hole] = candidates[parent];
+				hole = parent;
+			}
+			candidates[hole] = candidate;
+		}
+	}
 }
\ No newline at end of file
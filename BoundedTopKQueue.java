@@ -0,0 +1,323 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BoundedTopKQueue keeps the K elements of the highest priority out of any
+ * number of offered elements, e.g. the K most urgent slides of a huge feed.
+ * Once K elements are stored, a new element either evicts the element of the
+ * lowest priority or, if it is not better than that one, is dropped, so the
+ * memory used never grows past K elements.
+ *
+ * The elements are kept in a min-max heap: the levels of the tree alternate
+ * between min levels (starting with the root), whose elements are smaller than
+ * all their descendants, and max levels, whose elements are larger than all
+ * their descendants. The lowest priority is then at the root and the highest
+ * at one of its children, and offer, extractMaximum and extractMinimum all
+ * take O(log K).
+ *
+ * @author Xueying Xu (Shirley)
+ * @param <T>
+ */
+public class BoundedTopKQueue<T extends Comparable<T>> implements PriorityQueue<T> {
+
+	private final T[] data;
+	private int size;
+	// number of elements evicted or dropped so far
+	private long dropped;
+
+	/**
+	 * Constructs an empty queue that keeps at most k elements.
+	 *
+	 * @param k
+	 */
+	public BoundedTopKQueue(int k) {
+		if (k < 1) {
+			throw new IllegalArgumentException("A top-K queue must keep at least one element: " + k);
+		}
+		data = (T[]) new Comparable[k];
+	}
+
+	/**
+	 * Offers an element. If the queue is full, the element of the lowest
+	 * priority among the stored ones and the new element is left out.
+	 *
+	 * @param element
+	 * @return the element that was evicted or dropped, or null if the queue was
+	 *         not full
+	 */
+	public T offer(T element) {
+		if (size < data.length) {
+			data[size] = element;
+			fix(size++);
+			return null;
+		}
+		dropped++;
+		// the new element does not beat the lowest priority
+		if (element.compareTo(data[0]) <= 0) {
+			return element;
+		}
+		T evicted = data[0];
+		data[0] = element;
+		fix(0);
+		return evicted;
+	}
+
+	/**
+	 * Inserts a new element in the queue, evicting the element of the lowest
+	 * priority if the queue is full (see offer).
+	 *
+	 * @param element
+	 */
+	public void insert(T element) {
+		offer(element);
+	}
+
+	/**
+	 * Returns (Peeks) the element with the highest priority.
+	 *
+	 * @return the element with the highest priority, or null if empty
+	 */
+	public T maximum() {
+		return size == 0 ? null : data[maximumIndex()];
+	}
+
+	/**
+	 * Returns (Peeks) the element with the lowest priority, the next one to be
+	 * evicted.
+	 *
+	 * @return the element with the lowest priority, or null if empty
+	 */
+	public T minimum() {
+		return size == 0 ? null : data[0];
+	}
+
+	/**
+	 * Removes and returns the element with the highest priority.
+	 *
+	 * @return the element with the highest priority, or null if empty
+	 */
+	public T extractMaximum() {
+		return size == 0 ? null : removeAt(maximumIndex());
+	}
+
+	/**
+	 * Removes and returns the element with the lowest priority.
+	 *
+	 * @return the element with the lowest priority, or null if empty
+	 */
+	public T extractMinimum() {
+		return size == 0 ? null : removeAt(0);
+	}
+
+	/**
+	 * Sets the element at specified index to a new element that is greater than
+	 * or equal to the original element, and restores the heap.
+	 *
+	 * @param index
+	 * @param element
+	 */
+	public void increaseValue(int index, T element) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("No element at index " + index + " in a queue of " + size);
+		}
+		if (element.compareTo(data[index]) < 0) {
+			throw new IllegalArgumentException("The value of the new element is smaller than the value of the original element.");
+		}
+		data[index] = element;
+		fix(index);
+	}
+
+	/**
+	 * Returns the stored elements from the highest priority down, without
+	 * removing them. Takes O(K log K).
+	 *
+	 * @return the stored elements in priority order
+	 */
+	public List<T> toSortedList() {
+		T[] sorted = Arrays.copyOf(data, size);
+		Arrays.sort(sorted);
+		List<T> list = new ArrayList<T>(size);
+		for (int i = size - 1; i >= 0; i--) {
+			list.add(sorted[i]);
+		}
+		return list;
+	}
+
+	/**
+	 * Removes all the elements.
+	 */
+	public void clear() {
+		Arrays.fill(data, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * Returns the number of elements stored in the queue.
+	 *
+	 * @return the number of elements stored
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns K, the largest number of elements the queue keeps.
+	 *
+	 * @return the capacity of the queue
+	 */
+	public int getCapacity() {
+		return data.length;
+	}
+
+	/**
+	 * Returns the number of elements that were evicted or dropped because the
+	 * queue was full.
+	 *
+	 * @return the number of elements left out
+	 */
+	public long getDropped() {
+		return dropped;
+	}
+
+	/**
+	 * Returns the element stored at index i.
+	 *
+	 * @param i
+	 * @return the element stored at index i
+	 */
+	public T getElement(int i) {
+		return data[i];
+	}
+
+	/**
+	 * Returns a String representation of the queue in array order. Used for
+	 * testing.
+	 *
+	 * @return a String representation of the queue
+	 */
+	public String toString() {
+		return Arrays.toString(Arrays.copyOf(data, size));
+	}
+
+	/**
+	 * Returns the index of the maximum: the larger child of the root, or the root
+	 * if it has no children.
+	 */
+	private int maximumIndex() {
+		if (size == 1) {
+			return 0;
+		}
+		if (size == 2 || data[1].compareTo(data[2]) >= 0) {
+			return 1;
+		}
+		return 2;
+	}
+
+	private T removeAt(int index) {
+		T removed = data[index];
+		size--;
+		data[index] = data[size];
+		data[size] = null;
+		if (index < size) {
+			fix(index);
+		}
+		return removed;
+	}
+
+	/**
+	 * Restores the min-max heap after the element at index has changed.
+	 */
+	private void fix(int index) {
+		if (index > 0) {
+			int parent = (index - 1) >>> 1;
+			boolean minLevel = isMinLevel(index);
+			// the element belongs on the other kind of level above it
+			if (minLevel ? data[index].compareTo(data[parent]) > 0 : data[index].compareTo(data[parent]) < 0) {
+				swap(index, parent);
+				moveUp(parent, !minLevel);
+				// the parent moved down here is now out of place below
+				moveDown(index, minLevel);
+				return;
+			}
+		}
+		if (!moveUp(index, isMinLevel(index))) {
+			moveDown(index, isMinLevel(index));
+		}
+	}
+
+	/**
+	 * Moves the element at index up through its grandparents on levels of the
+	 * same kind. Returns true if it moved.
+	 */
+	private boolean moveUp(int index, boolean minLevel) {
+		boolean moved = false;
+		while (index > 2) {
+			int grandparent = (((index - 1) >>> 1) - 1) >>> 1;
+			int order = data[index].compareTo(data[grandparent]);
+			if (minLevel ? order >= 0 : order <= 0) {
+				break;
+			}
+			swap(index, grandparent);
+			index = grandparent;
+			moved = true;
+		}
+		return moved;
+	}
+
+	/**
+	 * Moves the element at index down through its children and grandchildren,
+	 * towards the smallest of them on a min level and the largest on a max level.
+	 */
+	private void moveDown(int index, boolean minLevel) {
+		while (2 * index + 1 < size) {
+			// the most extreme of the children and grandchildren
+			int best = 2 * index + 1;
+			int last = Math.min(4 * index + 6, size - 1);
+			for (int i = best + 1; i <= last; i++) {
+				if (i == 2 * index + 3) {
+					i = 4 * index + 3; // the grandchildren follow the two children
+					if (i > last) {
+						break;
+					}
+				}
+				if (better(i, best, minLevel)) {
+					best = i;
+				}
+			}
+			if (!better(best, index, minLevel)) {
+				return;
+			}
+			swap(best, index);
+			if (best <= 2 * index + 2) {
+				// a child is on the other kind of level and has no descendants to check
+				return;
+			}
+			int parent = (best - 1) >>> 1;
+			if (better(parent, best, minLevel)) {
+				swap(best, parent);
+			}
+			index = best;
+		}
+	}
+
+	/**
+	 * Returns true if the element at i is smaller (on a min level) or larger (on
+	 * a max level) than the element at j.
+	 */
+	private boolean better(int i, int j, boolean minLevel) {
+		int order = data[i].compareTo(data[j]);
+		return minLevel ? order < 0 : order > 0;
+	}
+
+	private static boolean isMinLevel(int index) {
+		// the level of index is the position of the highest bit of index + 1
+		return ((31 - Integer.numberOfLeadingZeros(index + 1)) & 1) == 0;
+	}
+
+	private void swap(int i, int j) {
+		T temp = data[i];
+		data[i] = data[j];
+		data[j] = temp;
+	}
+}
@@ -0,0 +1,78 @@
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * BoundedTopKQueueTest is a JUnit testing class to test the bounded top-K
+ * queue.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class BoundedTopKQueueTest {
+    protected BoundedTopKQueue<Integer> top3;
+
+    @Before
+    public void init() {
+        top3 = new BoundedTopKQueue<Integer>(3);
+    }
+
+    @Test
+    public void offerTest() {
+        assertNull(top3.offer(5));
+        assertNull(top3.offer(1));
+        assertNull(top3.offer(8));
+        // full: the lowest priority is evicted
+        assertEquals(1, (int) top3.offer(6));
+        // not better than the lowest priority: dropped
+        assertEquals(2, (int) top3.offer(2));
+        assertEquals(3, top3.getSize());
+        assertEquals(2, top3.getDropped());
+        assertEquals(8, (int) top3.maximum());
+        assertEquals(5, (int) top3.minimum());
+        assertEquals(Arrays.asList(8, 6, 5), top3.toSortedList());
+    }
+
+    @Test
+    public void streamTest() {
+        BoundedTopKQueue<Integer> top = new BoundedTopKQueue<Integer>(10);
+        for (int i = 0; i < 100000; i++) {
+            top.insert((i * 7919) % 100003);
+        }
+        assertEquals(10, top.getSize());
+        for (int expected = 100002; expected > 99992; expected--) {
+            assertEquals(expected, (int) top.extractMaximum());
+        }
+        assertNull(top.extractMaximum());
+    }
+
+    @Test
+    public void extractTest() {
+        BoundedTopKQueue<Integer> top = new BoundedTopKQueue<Integer>(8);
+        for (int value : new int[]{4, 9, 2, 7, 5, 1, 8, 3}) {
+            top.insert(value);
+        }
+        assertEquals(1, (int) top.extractMinimum());
+        assertEquals(9, (int) top.extractMaximum());
+        assertEquals(2, (int) top.extractMinimum());
+        assertEquals(8, (int) top.extractMaximum());
+        assertEquals(Arrays.asList(7, 5, 4, 3), top.toSortedList());
+    }
+
+    @Test
+    public void increaseValueTest() {
+        top3.insert(1);
+        top3.insert(2);
+        top3.insert(3);
+        // the minimum becomes the maximum
+        top3.increaseValue(0, 10);
+        assertEquals(10, (int) top3.maximum());
+        assertEquals(2, (int) top3.minimum());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCapacityTest() {
+        new BoundedTopKQueue<Integer>(0);
+    }
+}
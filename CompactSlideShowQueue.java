@@ -0,0 +1,145 @@
+import java.util.Arrays;
+
+/**
+ * A CompactSlideShowQueue is a slide show queue for very large decks. The
+ * slides live in a SlideStore and the heap holds only their int ids, ordered by
+ * slide time (earliest first, equal times in the order they were added), so
+ * the queue allocates no object per slide. Slide objects are only created for
+ * the slides that are peeked at or displayed.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class CompactSlideShowQueue {
+
+	/** The number of text bytes reserved per slide when the queue is created **/
+	public static final int TEXT_BYTES_PER_SLIDE = 32;
+	/** The most text bytes reserved up front; the store grows beyond it as needed **/
+	public static final int MAX_INITIAL_TEXT_BYTES = 1 << 26;
+
+	private final SlideStore store;
+	// min-heap of slide ids ordered by slide time
+	private int[] heap;
+	private int heapSize;
+
+	/**
+	 * Constructs a CompactSlideShowQueue sized for the given number of slides. At
+	 * most MAX_INITIAL_TEXT_BYTES of text are reserved up front.
+	 *
+	 * @param capacity
+	 */
+	public CompactSlideShowQueue(int capacity) {
+		store = new SlideStore(capacity,
+				(int) Math.min(MAX_INITIAL_TEXT_BYTES, (long) capacity * TEXT_BYTES_PER_SLIDE));
+		heap = new int[capacity];
+	}
+
+	/**
+	 * Stores a new slide and then adds its id to the priority queue.
+	 *
+	 * @param slideText
+	 * @param slideTime
+	 */
+	public void addSlide(String slideText, long slideTime) {
+		int id = store.add(slideText, slideTime);
+		if (heapSize == heap.length) {
+			heap = Arrays.copyOf(heap, Math.max(heapSize + 1, (int) (heapSize * BinaryHeap.DEFAULT_GROWTH_FACTOR)));
+		}
+		// moves the new id up to the right place
+		int i = heapSize++;
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (!earlier(id, heap[parent])) {
+				break;
+			}
+			heap[i] = heap[parent];
+			i = parent;
+		}
+		heap[i] = id;
+	}
+
+	/**
+	 * Removes the id of the slide of the highest priority from the priority queue.
+	 *
+	 * @return the id of the slide of the highest priority, or -1 if there is none
+	 */
+	public int displaySlideId() {
+		if (heapSize == 0) {
+			return -1;
+		}
+		int first = heap[0];
+		int last = heap[--heapSize];
+		// moves the last id down from the root to the right place
+		int i = 0;
+		int half = heapSize >>> 1;
+		while (i < half) {
+			int child = 2 * i + 1;
+			if (child + 1 < heapSize && earlier(heap[child + 1], heap[child])) {
+				child++;
+			}
+			if (!earlier(heap[child], last)) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = last;
+		return first;
+	}
+
+	/**
+	 * Returns the id of the slide of the highest priority.
+	 *
+	 * @return the id of the slide of the highest priority, or -1 if there is none
+	 */
+	public int peekSlideId() {
+		return heapSize == 0 ? -1 : heap[0];
+	}
+
+	/**
+	 * Displays the Slide of the highest priority in the priority queue. Removes it
+	 * from the priority queue after displaying.
+	 *
+	 * @return the Slide of the highest priority, or null if there is none
+	 */
+	public Slide displaySlide() {
+		int id = displaySlideId();
+		return id < 0 ? null : store.getSlide(id);
+	}
+
+	/**
+	 * Peeks the Slide of the highest priority in the priority queue.
+	 *
+	 * @return the Slide of the highest priority, or null if there is none
+	 */
+	public Slide peekSlide() {
+		int id = peekSlideId();
+		return id < 0 ? null : store.getSlide(id);
+	}
+
+	/**
+	 * Returns the store that holds the slides.
+	 *
+	 * @return the slide store
+	 */
+	public SlideStore getStore() {
+		return store;
+	}
+
+	/**
+	 * Returns the number of slides stored in the priority queue.
+	 *
+	 * @return the number of slides
+	 */
+	public int getPQSize() {
+		return heapSize;
+	}
+
+	/**
+	 * Returns true if slide a should be displayed before slide b.
+	 */
+	private boolean earlier(int a, int b) {
+		long timeA = store.getTime(a);
+		long timeB = store.getTime(b);
+		return timeA < timeB || (timeA == timeB && a < b);
+	}
+}
@@ -0,0 +1,70 @@
+import static org.junit.Assert.*;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * CompactSlideShowQueueTest is a JUnit testing class to test the slide show
+ * queue that keeps its slides in a SlideStore.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class CompactSlideShowQueueTest {
+    protected CompactSlideShowQueue slides;
+
+    @Before
+    public void init() {
+        slides = new CompactSlideShowQueue(1);
+    }
+
+    @Test
+    public void emptyTest() {
+        assertEquals(0, slides.getPQSize());
+        assertEquals(-1, slides.peekSlideId());
+        assertEquals(-1, slides.displaySlideId());
+        assertNull(slides.peekSlide());
+        assertNull(slides.displaySlide());
+    }
+
+    @Test
+    public void extractOrderTest() {
+        slides.addSlide("third", 3000);
+        slides.addSlide("first", 1000);
+        slides.addSlide("second", 2000);
+        slides.addSlide("also third", 3000);
+        assertEquals(4, slides.getPQSize());
+        assertEquals("first", slides.peekSlide().getSlideText());
+        assertEquals("first", slides.displaySlide().getSlideText());
+        assertEquals("second", slides.displaySlide().getSlideText());
+        // equal times come out in the order they were added
+        assertEquals("third", slides.displaySlide().getSlideText());
+        assertEquals("also third", slides.displaySlide().getSlideText());
+        assertNull(slides.displaySlide());
+    }
+
+    @Test
+    public void growTest() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            slides.addSlide("Slide " + i, random.nextInt(1000000));
+        }
+        assertEquals(10000, slides.getPQSize());
+        assertEquals(10000, slides.getStore().size());
+        long previous = Long.MIN_VALUE;
+        int previousId = -1;
+        while (slides.getPQSize() > 0) {
+            int id = slides.displaySlideId();
+            long time = slides.getStore().getTime(id);
+            assertTrue(time > previous || (time == previous && id > previousId));
+            previous = time;
+            previousId = id;
+        }
+    }
+
+    @Test
+    public void initialTextCapacityTest() {
+        assertEquals(32, new CompactSlideShowQueue(1).getStore().textCapacity());
+        assertEquals(0, new CompactSlideShowQueue(0).getStore().textCapacity());
+    }
+}
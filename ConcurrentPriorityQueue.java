@@ -0,0 +1,149 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ConcurrentPriorityQueue is a thread-safe, lock-free priority queue backed by a
+ * concurrent skip list. Any number of threads may insert and extract at the
+ * same time; insert scales because threads only contend where their elements
+ * land in the list, and extractMaximum is linearizable because it atomically
+ * removes the first entry of the list.
+ *
+ * Equal elements are extracted in insertion order. The elements of a skip list
+ * have no stable index, so increaseValue is not offered: remove an element and
+ * insert its new value instead.
+ *
+ * @author Xueying Xu (Shirley)
+ * @param <T>
+ */
+public class ConcurrentPriorityQueue<T extends Comparable<T>> implements BasicPriorityQueue<T> {
+
+	// entries ordered from the highest to the lowest priority
+	private final ConcurrentSkipListMap<Entry<T>, Boolean> entries = new ConcurrentSkipListMap<Entry<T>, Boolean>();
+	// sequence numbers that keep equal elements apart and in insertion order
+	private final AtomicLong sequence = new AtomicLong();
+	private final LongAdder size = new LongAdder();
+
+	/**
+	 * Inserts a new element in the priority queue.
+	 *
+	 * @param element
+	 */
+	public void insert(T element) {
+		if (element == null) {
+			throw new NullPointerException("The priority queue does not accept null elements.");
+		}
+		entries.put(new Entry<T>(element, sequence.getAndIncrement()), Boolean.TRUE);
+		size.increment();
+	}
+
+	/**
+	 * Returns (Peeks) the element with the highest priority.
+	 *
+	 * @return the element with the highest priority, or null if the queue is empty
+	 */
+	public T maximum() {
+		Map.Entry<Entry<T>, Boolean> first = entries.firstEntry();
+		return first == null ? null : first.getKey().element;
+	}
+
+	/**
+	 * Removes and returns the element with the highest priority.
+	 *
+	 * @return the element with the highest priority, or null if the queue is empty
+	 */
+	public T extractMaximum() {
+		Map.Entry<Entry<T>, Boolean> first = entries.pollFirstEntry();
+		if (first == null) {
+			return null;
+		}
+		size.decrement();
+		return first.getKey().element;
+	}
+
+	/**
+	 * Removes one element equal to the given element, the earliest inserted if
+	 * there are several. Only the entries that compare equal to the element are
+	 * searched, in O(log n) plus their number. If threads remove the same element
+	 * at the same time, each stored element is removed by one of them.
+	 *
+	 * @param element
+	 * @return true if an element was removed
+	 */
+	public boolean remove(T element) {
+		if (element == null) {
+			return false;
+		}
+		// the entries comparing equal to the element lie between these two
+		Entry<T> from = new Entry<T>(element, Long.MIN_VALUE);
+		Entry<T> to = new Entry<T>(element, Long.MAX_VALUE);
+		for (Entry<T> entry : entries.subMap(from, true, to, true).keySet()) {
+			if (element.equals(entry.element) && entries.remove(entry) != null) {
+				size.decrement();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the number of elements stored in the priority queue. The result is
+	 * only exact while no other thread modifies the queue: an extraction can be
+	 * counted before the insert of the same element, so while threads insert and
+	 * extract the result is an estimate, clamped to [0, Integer.MAX_VALUE].
+	 *
+	 * @return the number of elements stored in the priority queue
+	 */
+	public int getSize() {
+		long sum = size.sum();
+		return (int) Math.max(0, Math.min(Integer.MAX_VALUE, sum));
+	}
+
+	/**
+	 * Returns true if the priority queue has no elements; false otherwise.
+	 *
+	 * @return true if the priority queue has no elements
+	 */
+	public boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	/**
+	 * Returns a String representation of the priority queue in priority order.
+	 *
+	 * @return a String representation of the priority queue
+	 */
+	public String toString() {
+		StringBuilder sb = new StringBuilder("[");
+		for (Entry<T> entry : entries.keySet()) {
+			if (sb.length() > 1) {
+				sb.append(", ");
+			}
+			sb.append(entry.element);
+		}
+		return sb.append(']').toString();
+	}
+
+	/**
+	 * An element together with its sequence number.
+	 */
+	private static final class Entry<T extends Comparable<T>> implements Comparable<Entry<T>> {
+		final T element;
+		final long sequence;
+
+		Entry(T element, long sequence) {
+			this.element = element;
+			this.sequence = sequence;
+		}
+
+		public int compareTo(Entry<T> other) {
+			// higher priority first, then first in first out
+			int result = other.element.compareTo(element);
+			if (result == 0) {
+				result = Long.compare(sequence, other.sequence);
+			}
+			return result;
+		}
+	}
+}
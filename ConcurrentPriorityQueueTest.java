@@ -0,0 +1,228 @@
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * ConcurrentPriorityQueueTest is a JUnit testing class to test the thread-safe
+ * priority queues: the PriorityQueue contract on one thread, and producers and
+ * consumers on many threads that must neither lose nor duplicate an element.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class ConcurrentPriorityQueueTest {
+    private static final int PRODUCERS = 4;
+    private static final int CONSUMERS = 4;
+    private static final int PER_PRODUCER = 20000;
+
+    protected ConcurrentPriorityQueue<Integer> concurrent;
+    protected SynchronizedPriorityQueue<Integer> locked;
+
+    @Before
+    public void init() {
+        concurrent = new ConcurrentPriorityQueue<Integer>();
+        locked = new SynchronizedPriorityQueue<Integer>(new PriorityQueueBH<Integer>(4));
+    }
+
+    @Test
+    public void orderTest() {
+        checkOrder(concurrent);
+        checkOrder(locked);
+    }
+
+    private void checkOrder(BasicPriorityQueue<Integer> queue) {
+        assertNull(queue.maximum());
+        assertNull(queue.extractMaximum());
+        int[] values = { 2, 1, 3, 10, 15, 8, 10 };
+        for (int value : values) {
+            queue.insert(value);
+        }
+        assertEquals(15, (int) queue.maximum());
+        int[] expected = { 15, 10, 10, 8, 3, 2, 1 };
+        for (int value : expected) {
+            assertEquals(value, (int) queue.extractMaximum());
+        }
+        assertNull(queue.extractMaximum());
+    }
+
+    @Test
+    public void concurrentQueueTest() {
+        assertTrue(concurrent.isEmpty());
+        concurrent.insert(7);
+        concurrent.insert(9);
+        assertEquals(2, concurrent.getSize());
+        assertEquals("[9, 7]", concurrent.toString());
+        concurrent.extractMaximum();
+        concurrent.extractMaximum();
+        assertEquals(0, concurrent.getSize());
+        assertTrue(concurrent.isEmpty());
+    }
+
+    @Test
+    public void equalElementsTest() {
+        // equal slides come out in insertion order
+        ConcurrentPriorityQueue<Slide> slides = new ConcurrentPriorityQueue<Slide>();
+        slides.insert(new Slide("first", 1000));
+        slides.insert(new Slide("second", 1000));
+        slides.insert(new Slide("early", 500));
+        assertEquals("early", slides.extractMaximum().getSlideText());
+        assertEquals("first", slides.extractMaximum().getSlideText());
+        assertEquals("second", slides.extractMaximum().getSlideText());
+    }
+
+    @Test
+    public void removeTest() {
+        int[] values = { 5, 3, 9, 3, 7 };
+        for (int value : values) {
+            concurrent.insert(value);
+        }
+        assertTrue(concurrent.remove(3));
+        assertFalse(concurrent.remove(4));
+        assertFalse(concurrent.remove(null));
+        assertEquals(4, concurrent.getSize());
+        assertEquals("[9, 7, 5, 3]", concurrent.toString());
+        // increase 5 to 10 by removing it and inserting the new value
+        assertTrue(concurrent.remove(5));
+        concurrent.insert(10);
+        assertEquals(10, (int) concurrent.extractMaximum());
+        assertTrue(concurrent.remove(3));
+        assertFalse(concurrent.remove(3));
+        assertEquals("[9, 7]", concurrent.toString());
+    }
+
+    @Test
+    public void removeEqualElementsTest() {
+        // of equal elements, the earliest inserted equal one is removed
+        ConcurrentPriorityQueue<String> words = new ConcurrentPriorityQueue<String>();
+        words.insert("b");
+        words.insert("a");
+        words.insert("b");
+        assertTrue(words.remove("b"));
+        assertEquals("[b, a]", words.toString());
+        assertTrue(words.remove("b"));
+        assertEquals("[a]", words.toString());
+    }
+
+    @Test
+    public void concurrentRemoveTest() throws InterruptedException {
+        final int count = 20000;
+        for (int i = 0; i < count; i++) {
+            concurrent.insert(i % 100);
+        }
+        final AtomicInteger removed = new AtomicInteger();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(new Runnable() {
+                public void run() {
+                    for (int i = 0; i < count; i++) {
+                        if (concurrent.remove(i % 100)) {
+                            removed.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(60000);
+            assertFalse("a worker did not finish", thread.isAlive());
+        }
+        // every element is removed exactly once
+        assertEquals(count, removed.get());
+        assertTrue(concurrent.isEmpty());
+        assertEquals(0, concurrent.getSize());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void insertNullTest() {
+        concurrent.insert(null);
+    }
+
+    @Test
+    public void synchronizedIncreaseValueTest() {
+        locked.insert(1);
+        locked.insert(2);
+        locked.increaseValue(1, 5);
+        assertEquals(5, (int) locked.extractMaximum());
+    }
+
+    @Test
+    public void concurrentStressTest() throws InterruptedException {
+        stress(concurrent);
+        assertTrue(concurrent.isEmpty());
+        assertEquals(0, concurrent.getSize());
+    }
+
+    @Test
+    public void synchronizedStressTest() throws InterruptedException {
+        stress(locked);
+        assertNull(locked.maximum());
+    }
+
+    /**
+     * Runs producers that insert distinct values and consumers that extract until
+     * every value has been taken, then checks that each value came out once.
+     */
+    private void stress(final BasicPriorityQueue<Integer> queue) throws InterruptedException {
+        final int total = PRODUCERS * PER_PRODUCER;
+        final AtomicInteger taken = new AtomicInteger();
+        final int[] seen = new int[total];
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            final int offset = p * PER_PRODUCER;
+            threads.add(new Thread(new Runnable() {
+                public void run() {
+                    awaitQuietly(start);
+                    for (int i = 0; i < PER_PRODUCER; i++) {
+                        queue.insert(offset + i);
+                    }
+                }
+            }));
+        }
+        for (int c = 0; c < CONSUMERS; c++) {
+            threads.add(new Thread(new Runnable() {
+                public void run() {
+                    awaitQuietly(start);
+                    while (taken.get() < total) {
+                        Integer value = queue.extractMaximum();
+                        if (value == null) {
+                            Thread.yield();
+                        } else {
+                            synchronized (seen) {
+                                seen[value]++;
+                            }
+                            taken.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(60000);
+            assertFalse("a worker did not finish", thread.isAlive());
+        }
+        assertEquals(total, taken.get());
+        for (int value = 0; value < total; value++) {
+            assertEquals("value " + value, 1, seen[value]);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
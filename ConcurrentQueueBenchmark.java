@@ -0,0 +1,76 @@
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * ConcurrentQueueBenchmark measures the throughput of ConcurrentPriorityQueue
+ * against a PriorityQueueBH behind a single global lock, for 1 up to the
+ * number of available processors threads. Two workloads are run: insert only
+ * (multi-producer ingestion) and an even mix of inserts and extractions.
+ * The number of operations per thread can be given as an argument.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class ConcurrentQueueBenchmark {
+
+	private static final int ROUNDS = 3;
+
+	public static void main(String[] args) throws InterruptedException {
+		int opsPerThread = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		int maxThreads = Runtime.getRuntime().availableProcessors();
+		for (boolean mixed : new boolean[] { false, true }) {
+			System.out.println(mixed ? "50% insert / 50% extractMaximum" : "insert only");
+			for (int threads = 1; threads <= maxThreads; threads *= 2) {
+				double locked = 0;
+				double concurrent = 0;
+				// the first round warms up the JIT and is not counted
+				for (int round = 0; round <= ROUNDS; round++) {
+					double l = run(new SynchronizedPriorityQueue<Integer>(new PriorityQueueBH<Integer>(16)),
+							threads, opsPerThread, mixed);
+					double c = run(new ConcurrentPriorityQueue<Integer>(), threads, opsPerThread, mixed);
+					if (round > 0) {
+						locked += l / ROUNDS;
+						concurrent += c / ROUNDS;
+					}
+				}
+				System.out.printf("  %2d threads   global lock %,10.0f ops/ms   skip list %,10.0f ops/ms%n",
+						threads, locked, concurrent);
+			}
+		}
+	}
+
+	/**
+	 * Runs the workload and returns the throughput in operations per millisecond.
+	 */
+	private static double run(final BasicPriorityQueue<Integer> queue, int threads, final int ops, final boolean mixed)
+			throws InterruptedException {
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(threads);
+		for (int t = 0; t < threads; t++) {
+			final int seed = t;
+			Thread worker = new Thread(new Runnable() {
+				public void run() {
+					Random random = new Random(seed);
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int i = 0; i < ops; i++) {
+						if (mixed && (i & 1) == 1) {
+							queue.extractMaximum();
+						} else {
+							queue.insert(random.nextInt());
+						}
+					}
+					done.countDown();
+				}
+			});
+			worker.start();
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+		done.await();
+		long elapsed = System.nanoTime() - begin;
+		return (double) threads * ops / (elapsed / 1e6);
+	}
+}
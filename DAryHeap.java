@@ -0,0 +1,271 @@
+import java.util.Arrays;
+
+/**
+ * D-ary Heap data structure implemented with an array. Every node has up to d
+ * children stored next to each other, so a heap of arity 4 or 8 is half or a
+ * third as deep as a binary heap and the children compared at each level of
+ * removeRoot share a cache line.
+ *
+ * @author Xueying Xu (Shirley)
+ * @param <T>
+ */
+public class DAryHeap<T extends Comparable<T>> implements Heap<T> {
+	// array to hold the heap
+	private T[] data;
+	// keep track of the heap size (different from the capacity)
+	private int heapSize;
+	// number of children per node
+	private final int arity;
+
+	/**
+	 * Constructs an empty d-ary heap with a given arity and capacity.
+	 *
+	 * @param arity
+	 * @param capacity
+	 */
+	public DAryHeap(int arity, int capacity) {
+		if (arity < 2) {
+			throw new IllegalArgumentException("The arity of a heap must be at least 2: " + arity);
+		}
+		this.arity = arity;
+		data = (T[]) new Comparable[capacity];
+		heapSize = 0;
+	}
+
+	/**
+	 * Constructs a new d-ary heap with a given arity and array.
+	 *
+	 * @param arity
+	 * @param arr
+	 */
+	public DAryHeap(int arity, Comparable[] arr) {
+		this(arity, 0);
+		data = (T[]) arr;
+		heapSize = arr.length;
+		buildHeap(); // make the array a heap
+	}
+
+	/**
+	 * Returns true if the heap has no elements; false otherwise.
+	 *
+	 * @return true if the heap has no elements; false otherwise
+	 */
+	public boolean isEmpty() {
+		return heapSize == 0;
+	}
+
+	/**
+	 * Returns the size of the heap.
+	 *
+	 * @return the size of the heap
+	 */
+	public int size() {
+		return heapSize;
+	}
+
+	/**
+	 * Returns the capacity of the heap.
+	 *
+	 * @return the capacity of the heap
+	 */
+	public int capacity() {
+		return data.length;
+	}
+
+	/**
+	 * Returns the number of children per node.
+	 *
+	 * @return the arity of the heap
+	 */
+	public int arity() {
+		return arity;
+	}
+
+	/**
+	 * Makes sure the heap can hold at least minCapacity elements, growing it by
+	 * the same factor as BinaryHeap.
+	 *
+	 * @param minCapacity
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > data.length) {
+			int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8,
+					(long) (data.length * BinaryHeap.DEFAULT_GROWTH_FACTOR));
+			data = Arrays.copyOf(data, Math.max(newCapacity, minCapacity));
+		}
+	}
+
+	/**
+	 * Returns the value stored at index i.
+	 *
+	 * @param i
+	 * @return the value stored at index i
+	 */
+	public T getElement(int i) {
+		return data[i];
+	}
+
+	/**
+	 * Returns the index of the parent for this index.
+	 *
+	 * @param i
+	 * @return the index of the parent; returns -1 if no parent is possible
+	 */
+	public int parent(int i) {
+		if (i > 0) {
+			return (i - 1) / arity;
+		}
+		return -1; // the root has no parent
+	}
+
+	/**
+	 * Returns the index of the k-th child (0-based) for this index.
+	 *
+	 * @param i
+	 * @param k
+	 * @return the index of the k-th child
+	 */
+	public int child(int i, int k) {
+		return arity * i + 1 + k;
+	}
+
+	/**
+	 * Adds a new value to the heap.
+	 *
+	 * @param value
+	 */
+	public void addElement(T value) {
+		// if the heap is full
+		if (heapSize == capacity()) {
+			System.out.println("The heap is full.");
+			return;
+		}
+		heapSize++;
+		heapUp(heapSize - 1, value); // move the new value up to the right place
+	}
+
+	/**
+	 * Removes and returns the maximum element in the heap.
+	 *
+	 * @return the maximum element in the heap
+	 */
+	public T removeRoot() {
+		if (isEmpty()) {
+			return null;
+		}
+		T maximum = data[0];
+		heapSize--;
+		T last = data[heapSize];
+		data[heapSize] = null;
+		if (heapSize > 0) {
+			heapDown(0, last); // maintain the heap property
+		}
+		return maximum;
+	}
+
+	/**
+	 * Sets the element at specified index to a new element that is greater than
+	 * or equal to the original one, and moves it up to its correct position.
+	 *
+	 * @param index
+	 * @param element
+	 */
+	public void increaseValue(int index, T element) {
+		if (element.compareTo(data[index]) < 0) {
+			System.err.println("The value of the new element is smaller than the value of the original element.");
+		} else {
+			heapUp(index, element);
+		}
+	}
+
+	/**
+	 * Rearranges the elements so the array satisfies the heap property, starting
+	 * from the last node that has a child.
+	 */
+	private void buildHeap() {
+		for (int i = parent(heapSize - 1); i >= 0; i--) {
+			heapDown(i, data[i]);
+		}
+	}
+
+	/**
+	 * Moves the value up from index i, shifting smaller ancestors down into the
+	 * hole instead of swapping at every level.
+	 *
+	 * @param i
+	 * @param value
+	 */
+	private void heapUp(int i, T value) {
+		while (i > 0) {
+			int parent = (i - 1) / arity;
+			if (data[parent].compareTo(value) >= 0) {
+				break;
+			}
+			data[i] = data[parent];
+			i = parent;
+		}
+		data[i] = value;
+	}
+
+	/**
+	 * Moves the value down from index i, shifting the largest child up into the
+	 * hole until every child is smaller than or equal to the value.
+	 *
+	 * @param i
+	 * @param value
+	 */
+	private void heapDown(int i, T value) {
+		while (true) {
+			int first = arity * i + 1;
+			if (first >= heapSize) {
+				break;
+			}
+			int last = Math.min(first + arity, heapSize);
+			// find the largest of the (adjacent) children
+			int largest = first;
+			for (int c = first + 1; c < last; c++) {
+				if (data[c].compareTo(data[largest]) > 0) {
+					largest = c;
+				}
+			}
+			if (data[largest].compareTo(value) <= 0) {
+				break;
+			}
+			data[i] = data[largest];
+			i = largest;
+		}
+		data[i] = value;
+	}
+
+	/**
+	 * Clears the entire heap.
+	 */
+	public void clear() {
+		Arrays.fill(data, 0, heapSize, null);
+		heapSize = 0;
+	}
+
+	/**
+	 * Checks if a certain value exists in the heap.
+	 *
+	 * @param value
+	 * @return true if the value is in the heap, false otherwise
+	 */
+	public boolean contains(T value) {
+		for (int i = 0; i < heapSize; i++) {
+			if (data[i].equals(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns a String representation of the d-ary heap.
+	 *
+	 * @return a String representation of the d-ary heap
+	 */
+	public String toString() {
+		return Arrays.toString(data);
+	}
+}
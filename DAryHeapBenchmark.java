@@ -0,0 +1,82 @@
+import java.util.Random;
+
+/**
+ * DAryHeapBenchmark compares PriorityQueueBH with PriorityQueueDAry of arity
+ * 2, 4 and 8 on a workload that inserts n random elements and then extracts
+ * them all. Sizes are given as arguments (default 10^6 and 10^7); run with a
+ * large heap, e.g. -Xmx8g, for 10^8.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class DAryHeapBenchmark {
+
+	private static final int[] ARITIES = { 2, 4, 8 };
+	private static final int ROUNDS = 3;
+
+	public static void main(String[] args) {
+		int[] sizes = { 1000000, 10000000 };
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				sizes[i] = (int) Double.parseDouble(args[i]);
+			}
+		}
+		for (int n : sizes) {
+			Integer[] values = randomValues(n);
+			System.out.printf("n = %,d%n", n);
+			// the first round warms up the JIT and is not reported
+			for (int round = 0; round <= ROUNDS; round++) {
+				report(round, "BinaryHeap", runBinary(values));
+				for (int arity : ARITIES) {
+					report(round, arity + "-ary heap", runDAry(arity, values));
+				}
+			}
+		}
+	}
+
+	private static Integer[] randomValues(int n) {
+		Random random = new Random(42);
+		Integer[] values = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			values[i] = random.nextInt();
+		}
+		return values;
+	}
+
+	private static long[] runBinary(Integer[] values) {
+		PriorityQueueBH<Integer> pq = new PriorityQueueBH<Integer>(values.length);
+		long start = System.nanoTime();
+		for (Integer value : values) {
+			pq.insert(value);
+		}
+		long inserted = System.nanoTime();
+		long checksum = 0;
+		for (int i = 0; i < values.length; i++) {
+			checksum += pq.extractMaximum();
+		}
+		long extracted = System.nanoTime();
+		return new long[] { inserted - start, extracted - inserted, checksum };
+	}
+
+	private static long[] runDAry(int arity, Integer[] values) {
+		PriorityQueueDAry<Integer> pq = new PriorityQueueDAry<Integer>(arity, values.length);
+		long start = System.nanoTime();
+		for (Integer value : values) {
+			pq.insert(value);
+		}
+		long inserted = System.nanoTime();
+		long checksum = 0;
+		for (int i = 0; i < values.length; i++) {
+			checksum += pq.extractMaximum();
+		}
+		long extracted = System.nanoTime();
+		return new long[] { inserted - start, extracted - inserted, checksum };
+	}
+
+	private static void report(int round, String name, long[] result) {
+		if (round > 0) {
+			System.out.printf("  %-12s insert %8.1f ms   extract %8.1f ms   (checksum %d)%n", name,
+					result[0] / 1e6, result[1] / 1e6, result[2]);
+		}
+	}
+}
@@ -0,0 +1,339 @@
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * DeckFile reads and writes decks in a binary format that is opened with
+ * FileChannel.map, so slides are read lazily straight from the mapped file
+ * instead of being parsed and copied up front. Opening a deck only maps it.
+ *
+ * The file has three parts (all numbers big-endian):
+ * <ul>
+ * <li>header (32 bytes): magic "DECK", version, flags, slide count, offset of
+ * the time index, offset of the text blob</li>
+ * <li>time index: one 24-byte entry per slide holding its time (long), the
+ * offset of its text in the blob (long), the length of its text (int) and its
+ * rank (int) among the slides of the deck in the order they were created</li>
+ * <li>text blob: the UTF-8 texts of all slides</li>
+ * </ul>
+ * The slides are stored in the order of the BinaryHeap array they were saved
+ * from. That order already satisfies the heap property (the HEAP_ORDERED
+ * flag), so toSlideShowQueue does not need to run buildMaxHeap again. The flag
+ * is only trusted after an O(n) check of the heap property; a file that fails
+ * it, e.g. a corrupt or foreign one, is heapified instead.
+ *
+ * The rank keeps slides with the same time in their original order: opening a
+ * deck reserves a block of Slide sequence numbers and slide i is rebuilt with
+ * the one of its rank. Version 1 files have no ranks and use the position in
+ * the file instead.
+ *
+ * The text blob is mapped in 1 GB segments and the writer never lets a text
+ * cross a segment boundary.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class DeckFile implements Closeable {
+
+	/** "DECK" in ASCII **/
+	public static final int MAGIC = 0x4445434B;
+	/** The version of the format written by this class **/
+	public static final int VERSION = 2;
+	/** Flag set when the slides are stored in heap order **/
+	public static final int HEAP_ORDERED = 1;
+
+	private static final int HEADER_SIZE = 32;
+	private static final int ENTRY_SIZE = 24;
+	private static final long SEGMENT_SIZE = 1L << 30;
+
+	private final FileChannel channel;
+	private final int version;
+	private final int flags;
+	private final int count;
+	// the Slide sequence number of rank 0, reserved for this deck
+	private final long firstSequence;
+	private final MappedByteBuffer index;
+	private final MappedByteBuffer[] blob;
+
+	/**
+	 * Maps an existing deck file.
+	 *
+	 * @param channel
+	 * @throws IOException
+	 */
+	private DeckFile(FileChannel channel) throws IOException {
+		this.channel = channel;
+		MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+		if (header.getInt(0) != MAGIC) {
+			throw new IOException("Not a deck file.");
+		}
+		version = header.getInt(4);
+		if (version != 1 && version != VERSION) {
+			throw new IOException("Unsupported deck file version " + version);
+		}
+		flags = header.getInt(8);
+		count = header.getInt(12);
+		long indexOffset = header.getLong(16);
+		long textOffset = header.getLong(24);
+		if ((long) count * ENTRY_SIZE > Integer.MAX_VALUE) {
+			throw new IOException("The time index of the deck is larger than 2 GB.");
+		}
+		if (count < 0 || indexOffset < HEADER_SIZE || indexOffset + (long) count * ENTRY_SIZE > textOffset
+				|| textOffset > channel.size()) {
+			throw new IOException("The deck file is corrupt.");
+		}
+		index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, (long) count * ENTRY_SIZE);
+		long textLength = channel.size() - textOffset;
+		blob = new MappedByteBuffer[(int) ((textLength + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+		for (int i = 0; i < blob.length; i++) {
+			long start = i * SEGMENT_SIZE;
+			blob[i] = channel.map(FileChannel.MapMode.READ_ONLY, textOffset + start,
+					Math.min(SEGMENT_SIZE, textLength - start));
+		}
+		firstSequence = Slide.reserveSequences(count);
+	}
+
+	/**
+	 * Opens a deck file. Only the header is read; the slides are read when they
+	 * are accessed.
+	 *
+	 * @param path
+	 * @return the opened deck
+	 * @throws IOException
+	 */
+	public static DeckFile open(Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			return new DeckFile(channel);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Writes the slides of a queue to a deck file in heap order. The queue is not
+	 * modified.
+	 *
+	 * @param queue
+	 * @param path
+	 * @throws IOException
+	 */
+	public static void write(SlideShowQueue queue, Path path) throws IOException {
+		PriorityQueueBH<Slide> heap = queue.getSlidesQueue();
+		int count = heap.getSize();
+		// lay out the text blob first so the index can be written before it
+		long[] offsets = new long[count];
+		int[] lengths = new int[count];
+		// sequence numbers are distinct, so a slide's rank is its position among them
+		long[] sequences = new long[count];
+		for (int i = 0; i < count; i++) {
+			sequences[i] = heap.getElement(i).getSequence();
+		}
+		Arrays.sort(sequences);
+		long blobSize = 0;
+		for (int i = 0; i < count; i++) {
+			int length = utf8Length(heap.getElement(i).getSlideText());
+			if (length > SEGMENT_SIZE) {
+				throw new IOException("The text of a slide is larger than 1 GB.");
+			}
+			// a text never crosses a segment boundary
+			if (length > 0 && blobSize / SEGMENT_SIZE != (blobSize + length - 1) / SEGMENT_SIZE) {
+				blobSize = (blobSize / SEGMENT_SIZE + 1) * SEGMENT_SIZE;
+			}
+			offsets[i] = blobSize;
+			lengths[i] = length;
+			blobSize += length;
+		}
+		long indexOffset = HEADER_SIZE;
+		long textOffset = indexOffset + (long) count * ENTRY_SIZE;
+		try (OutputStream file = Files.newOutputStream(path);
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(HEAP_ORDERED);
+			out.writeInt(count);
+			out.writeLong(indexOffset);
+			out.writeLong(textOffset);
+			for (int i = 0; i < count; i++) {
+				out.writeLong(heap.getElement(i).getSlideTime());
+				out.writeLong(offsets[i]);
+				out.writeInt(lengths[i]);
+				out.writeInt(Arrays.binarySearch(sequences, heap.getElement(i).getSequence()));
+			}
+			long written = 0;
+			for (int i = 0; i < count; i++) {
+				for (; written < offsets[i]; written++) {
+					out.write(0); // padding up to the next segment
+				}
+				byte[] text = heap.getElement(i).getSlideText().getBytes(StandardCharsets.UTF_8);
+				if (text.length != lengths[i]) {
+					throw new IOException("The queue was modified while it was being written.");
+				}
+				out.write(text);
+				written += text.length;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of slides in the deck.
+	 *
+	 * @return the number of slides
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Returns true if the slides are stored in heap order.
+	 *
+	 * @return true if the slides are stored in heap order
+	 */
+	public boolean isHeapOrdered() {
+		return (flags & HEAP_ORDERED) != 0;
+	}
+
+	/**
+	 * Returns the time of slide i, read from the mapped time index.
+	 *
+	 * @param i
+	 * @return the time of slide i
+	 */
+	public long getTime(int i) {
+		checkIndex(i);
+		return index.getLong(i * ENTRY_SIZE);
+	}
+
+	/**
+	 * Returns the text of slide i, decoded from the mapped text blob.
+	 *
+	 * @param i
+	 * @return the text of slide i
+	 * @throws IOException if the entry of the slide points outside the blob
+	 */
+	public String getText(int i) throws IOException {
+		checkIndex(i);
+		long offset = index.getLong(i * ENTRY_SIZE + 8);
+		int length = index.getInt(i * ENTRY_SIZE + 16);
+		if (offset < 0 || length < 0) {
+			throw new IOException("The deck file is corrupt.");
+		}
+		if (length == 0) {
+			return "";
+		}
+		if (offset / SEGMENT_SIZE >= blob.length
+				|| offset % SEGMENT_SIZE + length > blob[(int) (offset / SEGMENT_SIZE)].limit()) {
+			throw new IOException("The deck file is corrupt.");
+		}
+		byte[] text = new byte[length];
+		ByteBuffer view = blob[(int) (offset / SEGMENT_SIZE)].duplicate();
+		view.position((int) (offset % SEGMENT_SIZE));
+		view.get(text);
+		return new String(text, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns slide i. Every Slide of the same i has the same sequence number, so
+	 * slides with the same time keep the order they had when the deck was
+	 * written.
+	 *
+	 * @param i
+	 * @return slide i
+	 * @throws IOException if the entry of the slide points outside the blob
+	 */
+	public Slide getSlide(int i) throws IOException {
+		return new Slide(getText(i), getTime(i), firstSequence + getRank(i));
+	}
+
+	/**
+	 * Loads the deck into a SlideShowQueue. A heap-ordered deck whose slides pass
+	 * the check of the heap property is used as is; otherwise the slides are
+	 * heapified once.
+	 *
+	 * This copies every slide, text included, onto the Java heap, so the queue
+	 * costs as much memory as a deck that was never mapped. Read slides with
+	 * getTime, getText and getSlide to keep them in the mapped file.
+	 *
+	 * @return a SlideShowQueue with all the slides of the deck
+	 * @throws IOException if the entry of a slide points outside the blob
+	 */
+	public SlideShowQueue toSlideShowQueue() throws IOException {
+		Slide[] slides = new Slide[count];
+		for (int i = 0; i < count; i++) {
+			slides[i] = getSlide(i);
+		}
+		if (isHeapOrdered() && satisfiesHeapProperty(slides)) {
+			return new SlideShowQueue(PriorityQueueBH.<Slide>fromHeapOrdered(slides));
+		}
+		return new SlideShowQueue(new PriorityQueueBH<Slide>(slides));
+	}
+
+	/**
+	 * Closes the file. Slides must not be read afterwards.
+	 *
+	 * @throws IOException
+	 */
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Returns the rank of slide i in creation order, or i if the file has no
+	 * valid rank for it.
+	 */
+	private int getRank(int i) {
+		int rank = version == 1 ? i : index.getInt(i * ENTRY_SIZE + 20);
+		return rank >= 0 && rank < count ? rank : i;
+	}
+
+	private void checkIndex(int i) {
+		if (i < 0 || i >= count) {
+			throw new IndexOutOfBoundsException("No slide " + i + " in a deck of " + count);
+		}
+	}
+
+	/**
+	 * Returns true if no slide has a higher priority than its parent.
+	 */
+	private static boolean satisfiesHeapProperty(Slide[] slides) {
+		for (int i = 1; i < slides.length; i++) {
+			if (slides[i].compareTo(slides[(i - 1) >>> 1]) > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the number of bytes of the UTF-8 encoding of s without encoding it.
+	 */
+	private static int utf8Length(String s) {
+		int length = 0;
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c < 0x80) {
+				length += 1;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+				length += 4;
+				i++;
+			} else if (Character.isSurrogate(c)) {
+				length += 1; // an unpaired surrogate is encoded as '?'
+			} else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+}
@@ -0,0 +1,191 @@
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * DeckFileTest is a JUnit testing class to test writing decks to the binary
+ * deck format and opening them again.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class DeckFileTest {
+    protected Path path;
+    protected SlideShowQueue slides;
+
+    @Before
+    public void init() throws IOException {
+        path = Files.createTempFile("deck", ".deck");
+        slides = new SlideShowQueue();
+    }
+
+    @After
+    public void cleanUp() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void roundTripTest() throws IOException {
+        String[] texts = { "Hello", "", "Gr\u00fc\u00dfe", "\u4e16\u754c", "\ud83c\udf9e film", "mixed \u00e9 \u4e16 \ud83c\udf9e end" };
+        for (int i = 0; i < texts.length; i++) {
+            slides.addSlide(texts[i], (texts.length - i) * 1000L);
+        }
+        slides.addSlide("long time", 5000000000L);
+        DeckFile.write(slides, path);
+        try (DeckFile deck = DeckFile.open(path)) {
+            assertEquals(texts.length + 1, deck.size());
+            assertTrue(deck.isHeapOrdered());
+            PriorityQueueBH<Slide> heap = slides.getSlidesQueue();
+            for (int i = 0; i < deck.size(); i++) {
+                assertEquals(heap.getElement(i).getSlideText(), deck.getText(i));
+                assertEquals(heap.getElement(i).getSlideTime(), deck.getTime(i));
+            }
+            SlideShowQueue loaded = deck.toSlideShowQueue();
+            for (int i = texts.length - 1; i >= 0; i--) {
+                assertEquals(texts[i], loaded.displaySlide().getSlideText());
+            }
+            assertEquals(5000000000L, loaded.displaySlide().getSlideTime());
+            assertNull(loaded.displaySlide());
+        }
+    }
+
+    @Test
+    public void equalTimesTest() throws IOException {
+        // slides with the same time come back in the order they were added
+        for (int i = 0; i < 50; i++) {
+            slides.addSlide("Slide " + i, 1000);
+        }
+        DeckFile.write(slides, path);
+        try (DeckFile deck = DeckFile.open(path)) {
+            // rebuild the slides out of order
+            Slide[] rebuilt = new Slide[deck.size()];
+            for (int i = deck.size() - 1; i >= 0; i--) {
+                rebuilt[i] = deck.getSlide(i);
+            }
+            SlideShowQueue loaded = new SlideShowQueue(new PriorityQueueBH<Slide>(rebuilt));
+            for (int i = 0; i < 50; i++) {
+                assertEquals("Slide " + i, loaded.displaySlide().getSlideText());
+            }
+            SlideShowQueue again = deck.toSlideShowQueue();
+            for (int i = 0; i < 50; i++) {
+                assertEquals("Slide " + i, again.displaySlide().getSlideText());
+            }
+        }
+    }
+
+    @Test
+    public void unpairedSurrogateTest() throws IOException {
+        // an unpaired surrogate is written as '?', like String.getBytes does
+        slides.addSlide("a\ud800b", 1000);
+        DeckFile.write(slides, path);
+        try (DeckFile deck = DeckFile.open(path)) {
+            assertEquals("a?b", deck.getText(0));
+        }
+    }
+
+    @Test
+    public void emptyDeckTest() throws IOException {
+        DeckFile.write(slides, path);
+        try (DeckFile deck = DeckFile.open(path)) {
+            assertEquals(0, deck.size());
+            SlideShowQueue loaded = deck.toSlideShowQueue();
+            assertEquals(0, loaded.getPQSize());
+            assertNull(loaded.peekSlide());
+            assertNull(loaded.displaySlide());
+            // an empty deck can still take slides
+            loaded.addSlide("added", 1000);
+            assertEquals("added", loaded.peekSlide().getSlideText());
+        }
+    }
+
+    @Test
+    public void emptyTextTest() throws IOException {
+        // a deck whose texts are all empty has an empty blob
+        slides.addSlide("", 1000);
+        DeckFile.write(slides, path);
+        try (DeckFile deck = DeckFile.open(path)) {
+            assertEquals("", deck.getText(0));
+            assertEquals("", deck.toSlideShowQueue().peekSlide().getSlideText());
+        }
+    }
+
+    @Test
+    public void corruptEntryTest() throws IOException {
+        slides.addSlide("Slide", 1000);
+        slides.addSlide("Another slide", 2000);
+        DeckFile.write(slides, path);
+        // point the text of the second slide past the end of the blob
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            length.putInt(0, 1000);
+            channel.write(length, 32 + 24 + 16);
+        }
+        try (DeckFile deck = DeckFile.open(path)) {
+            assertEquals(1000L, deck.getTime(0));
+            deck.getText(0);
+            try {
+                deck.getText(1);
+                fail("a text outside the blob was read");
+            } catch (IOException expected) {
+                assertEquals("The deck file is corrupt.", expected.getMessage());
+            }
+            try {
+                deck.toSlideShowQueue();
+                fail("a corrupt deck was loaded");
+            } catch (IOException expected) {
+                // the same entry is read again
+            }
+        }
+    }
+
+    @Test
+    public void invalidHeapOrderTest() throws IOException {
+        for (int i = 1; i <= 20; i++) {
+            slides.addSlide("Slide " + i, i * 1000L);
+        }
+        DeckFile.write(slides, path);
+        // give the root the latest time while the flag still claims heap order
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer time = ByteBuffer.allocate(8);
+            time.putLong(0, 99000L);
+            channel.write(time, 32);
+        }
+        try (DeckFile deck = DeckFile.open(path)) {
+            assertTrue(deck.isHeapOrdered());
+            SlideShowQueue loaded = deck.toSlideShowQueue();
+            long previous = Long.MIN_VALUE;
+            for (int i = 0; i < 20; i++) {
+                long time = loaded.displaySlide().getSlideTime();
+                assertTrue(time >= previous);
+                previous = time;
+            }
+            assertEquals(99000L, previous);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void notADeckFileTest() throws IOException {
+        Files.write(path, new byte[64]);
+        DeckFile.open(path);
+    }
+
+    @Test(expected = IOException.class)
+    public void corruptHeaderTest() throws IOException {
+        slides.addSlide("Slide", 1000);
+        DeckFile.write(slides, path);
+        // a slide count far larger than the file
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer count = ByteBuffer.allocate(4);
+            count.putInt(0, 1000000);
+            channel.write(count, 12);
+        }
+        DeckFile.open(path);
+    }
+}
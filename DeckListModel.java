@@ -0,0 +1,206 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import javax.swing.AbstractListModel;
+import javax.swing.SwingUtilities;
+
+/**
+ * DeckListModel shows the slides of a SlideShowQueue in the order of display
+ * in a JList. It listens to the queue and keeps its own list of the slides in
+ * the order of display, so an update never sorts or copies the queue and never
+ * takes the lock of the queue; a JList only asks for the rows that are
+ * visible, so a deck of tens of thousands of slides is never walked to paint
+ * the list.
+ *
+ * The queue tells the model about each slide added or taken out on the thread
+ * that changes it. The changes are logged in that order and applied together
+ * on the event dispatch thread: a slide is placed by binary search, many added
+ * slides are sorted and merged in one pass, and only the rows added or removed
+ * are fired. Shown slides are the first rows, so a show removes rows from the
+ * top of the list.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class DeckListModel extends AbstractListModel<Slide> {
+
+	// the order of display: a slide with a higher priority comes first
+	private static final Comparator<Slide> DISPLAY_ORDER = Collections.reverseOrder();
+
+	// the slides in the order of display; read and written on the event dispatch thread
+	private final List<Slide> slides = new ArrayList<Slide>();
+	// the changes of the queue not applied yet, in the order they were made
+	private List<Slide> pendingSlides = new ArrayList<Slide>();
+	// pendingAdded.get(i) is true if pendingSlides.get(i) was added, false if taken out
+	private List<Boolean> pendingAdded = new ArrayList<Boolean>();
+
+	/**
+	 * Constructs a model of the slides of a queue and sets it as the listener of
+	 * the queue. Slides already in the queue are read once, in O(n); the queue
+	 * must not be changed by another thread meanwhile.
+	 *
+	 * @param queue
+	 */
+	public DeckListModel(SlideShowQueue queue) {
+		PriorityQueueBH<Slide> heap = queue.getSlidesQueue();
+		for (int i = 0; i < heap.getSize(); i++) {
+			slides.add(heap.getElement(i));
+		}
+		Collections.sort(slides, DISPLAY_ORDER);
+		queue.setListener(new SlideQueueListener() {
+			public void slideAdded(Slide slide) {
+				logChange(slide, true);
+			}
+
+			public void slideRemoved(Slide slide) {
+				logChange(slide, false);
+			}
+		});
+	}
+
+	/**
+	 * Logs a change of the queue and schedules the update of the model if none
+	 * is waiting. Takes O(1).
+	 */
+	private synchronized void logChange(Slide slide, boolean added) {
+		if (pendingSlides.isEmpty()) {
+			SwingUtilities.invokeLater(new Runnable() {
+				public void run() {
+					applyChanges();
+				}
+			});
+		}
+		pendingSlides.add(slide);
+		pendingAdded.add(added);
+	}
+
+	/**
+	 * Applies the logged changes in order, each run of additions or removals at
+	 * once. Runs on the event dispatch thread.
+	 */
+	private void applyChanges() {
+		List<Slide> changed;
+		List<Boolean> added;
+		synchronized (this) {
+			changed = pendingSlides;
+			added = pendingAdded;
+			pendingSlides = new ArrayList<Slide>();
+			pendingAdded = new ArrayList<Boolean>();
+		}
+		int start = 0;
+		while (start < changed.size()) {
+			int end = start + 1;
+			while (end < changed.size() && added.get(end).equals(added.get(start))) {
+				end++;
+			}
+			if (added.get(start)) {
+				addSlides(new ArrayList<Slide>(changed.subList(start, end)));
+			} else {
+				removeSlides(changed.subList(start, end));
+			}
+			start = end;
+		}
+	}
+
+	/**
+	 * Adds slides to the list. One slide is inserted at the position found by
+	 * binary search; more are sorted and merged with the list in O(n + k log k).
+	 * Fires one event per run of adjacent new rows.
+	 */
+	private void addSlides(List<Slide> added) {
+		if (added.size() == 1) {
+			int row = -(Collections.binarySearch(slides, added.get(0), DISPLAY_ORDER) + 1);
+			if (row < 0) {
+				return; // already listed
+			}
+			slides.add(row, added.get(0));
+			fireIntervalAdded(this, row, row);
+			return;
+		}
+		Collections.sort(added, DISPLAY_ORDER);
+		List<Slide> merged = new ArrayList<Slide>(slides.size() + added.size());
+		// the rows of the new slides in the merged list, in ascending order
+		int[] rows = new int[added.size()];
+		int i = 0;
+		int j = 0;
+		while (i < slides.size() || j < added.size()) {
+			if (j == added.size() || (i < slides.size() && DISPLAY_ORDER.compare(slides.get(i), added.get(j)) <= 0)) {
+				merged.add(slides.get(i++));
+			} else {
+				rows[j] = merged.size();
+				merged.add(added.get(j++));
+			}
+		}
+		slides.clear();
+		slides.addAll(merged);
+		for (int first = 0; first < rows.length;) {
+			int last = first;
+			while (last + 1 < rows.length && rows[last + 1] == rows[last] + 1) {
+				last++;
+			}
+			fireIntervalAdded(this, rows[first], rows[last]);
+			first = last + 1;
+		}
+	}
+
+	/**
+	 * Removes slides from the list, found by binary search, and closes the gaps
+	 * in one pass. Fires one event per run of adjacent removed rows, from the
+	 * bottom up so the rows of the earlier events stay valid.
+	 */
+	private void removeSlides(List<Slide> removed) {
+		int[] rows = new int[removed.size()];
+		int count = 0;
+		for (Slide slide : removed) {
+			int row = Collections.binarySearch(slides, slide, DISPLAY_ORDER);
+			if (row >= 0) {
+				rows[count++] = row;
+			}
+		}
+		if (count == 0) {
+			return;
+		}
+		Arrays.sort(rows, 0, count);
+		// shifts the kept slides over the removed ones
+		int write = rows[0];
+		int next = 0;
+		for (int read = rows[0]; read < slides.size(); read++) {
+			if (next < count && rows[next] == read) {
+				while (next < count && rows[next] == read) {
+					next++; // skips a slide logged twice
+				}
+			} else {
+				slides.set(write++, slides.get(read));
+			}
+		}
+		slides.subList(write, slides.size()).clear();
+		for (int last = count - 1; last >= 0;) {
+			int first = last;
+			while (first > 0 && rows[first - 1] >= rows[first] - 1) {
+				first--;
+			}
+			fireIntervalRemoved(this, rows[first], rows[last]);
+			last = first - 1;
+		}
+	}
+
+	/**
+	 * Returns the number of slides in the list.
+	 *
+	 * @return the number of slides
+	 */
+	public int getSize() {
+		return slides.size();
+	}
+
+	/**
+	 * Returns the slide at the given row.
+	 *
+	 * @param index
+	 * @return the slide at the row
+	 */
+	public Slide getElementAt(int index) {
+		return slides.get(index);
+	}
+}
@@ -0,0 +1,157 @@
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.SwingUtilities;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * DeckListModelTest is a JUnit testing class to test that the deck list
+ * follows its queue and fires only the rows that changed.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class DeckListModelTest {
+    protected SlideShowQueue queue;
+    protected DeckListModel model;
+    protected List<String> events;
+
+    @Before
+    public void init() {
+        queue = new SlideShowQueue();
+        queue.addSlide("before", 500);
+        model = new DeckListModel(queue);
+        events = new ArrayList<String>();
+        model.addListDataListener(new ListDataListener() {
+            public void intervalAdded(ListDataEvent e) {
+                events.add("added " + e.getIndex0() + "-" + e.getIndex1());
+            }
+
+            public void intervalRemoved(ListDataEvent e) {
+                events.add("removed " + e.getIndex0() + "-" + e.getIndex1());
+            }
+
+            public void contentsChanged(ListDataEvent e) {
+                events.add("changed " + e.getIndex0() + "-" + e.getIndex1());
+            }
+        });
+    }
+
+    @Test
+    public void initialSlidesTest() throws Exception {
+        assertEquals(1, model.getSize());
+        assertEquals("before", model.getElementAt(0).getSlideText());
+    }
+
+    @Test
+    public void addTest() throws Exception {
+        queue.addSlide("third", 3000);
+        flush();
+        queue.addSlide("first", 1000);
+        flush();
+        queue.addSlide("second", 2000);
+        flush();
+        assertTexts("before", "first", "second", "third");
+        assertEquals("[added 1-1, added 1-1, added 2-2]", events.toString());
+    }
+
+    @Test
+    public void batchTest() throws Exception {
+        // changes made while the event dispatch thread is busy are applied together
+        onEventThread(new Runnable() {
+            public void run() {
+                queue.addSlide("c", 3000);
+                queue.addSlide("a", 1000);
+                queue.addSlide("b", 2000);
+                queue.addSlide("z", 100);
+                queue.displaySlide();
+                queue.displaySlide();
+                queue.displaySlide();
+                queue.addSlide("d", 4000);
+            }
+        });
+        flush();
+        assertTexts("b", "c", "d");
+        assertEquals("[added 0-0, added 2-4, removed 0-2, added 2-2]", events.toString());
+    }
+
+    @Test
+    public void showTest() throws Exception {
+        for (int i = 1; i <= 100; i++) {
+            queue.addSlide("slide " + i, i * 1000L);
+        }
+        flush();
+        events.clear();
+        // the engine shows slides from the top of the deck
+        queue.displaySlide();
+        flush();
+        // changes made while the event dispatch thread is busy are applied together
+        onEventThread(new Runnable() {
+            public void run() {
+                queue.displaySlide();
+                queue.displaySlide();
+            }
+        });
+        flush();
+        assertEquals(98, model.getSize());
+        assertEquals("slide 3", model.getElementAt(0).getSlideText());
+        assertEquals("[removed 0-0, removed 0-1]", events.toString());
+    }
+
+    @Test
+    public void replayTest() throws Exception {
+        queue.addSlide("one", 1000);
+        queue.addSlide("two", 1000);
+        final SlideShowQueue copy = queue.snapshot();
+        while (queue.displaySlide() != null) {
+        }
+        flush();
+        assertEquals(0, model.getSize());
+        events.clear();
+        onEventThread(new Runnable() {
+            public void run() {
+                queue.addAll(copy);
+            }
+        });
+        flush();
+        assertTexts("before", "one", "two");
+        assertEquals("[added 0-2]", events.toString());
+    }
+
+    @Test
+    public void largeDeckTest() throws Exception {
+        for (int i = 0; i < 30000; i++) {
+            queue.addSlide("slide " + i, 1 + (i * 7919L) % 30011);
+        }
+        flush();
+        assertEquals(30001, model.getSize());
+        List<Slide> expected = queue.sortedSlides();
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), model.getElementAt(i));
+        }
+    }
+
+    /**
+     * Waits until the event dispatch thread has applied the changes so far.
+     */
+    private void flush() throws Exception {
+        SwingUtilities.invokeAndWait(new Runnable() {
+            public void run() {
+            }
+        });
+    }
+
+    private void onEventThread(Runnable changes) throws Exception {
+        SwingUtilities.invokeAndWait(changes);
+    }
+
+    private void assertTexts(String... texts) {
+        assertEquals(texts.length, model.getSize());
+        for (int i = 0; i < texts.length; i++) {
+            assertEquals(texts[i], model.getElementAt(i).getSlideText());
+        }
+    }
+}
@@ -0,0 +1,208 @@
+import java.io.PrintStream;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * DriftHistogram records how late slides are shown compared with their
+ * scheduled time, and reports the count, median (p50), p99 and maximum.
+ *
+ * Values are recorded in nanoseconds into logarithmic buckets: every power of
+ * two is split into SUB_BUCKETS linear buckets, so a percentile is reported
+ * with a relative error below 1/SUB_BUCKETS while the histogram stays a fixed
+ * array of counters whatever the range of the values. Recording is lock-free
+ * and can be done from several threads at once. Slides shown early are counted
+ * as 0 ns late (and in getEarlyCount).
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class DriftHistogram {
+
+	// 2^SUB_BUCKET_BITS linear buckets per power of two
+	private static final int SUB_BUCKET_BITS = 4;
+	/** The number of buckets per power of two **/
+	public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final String name;
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong early = new AtomicLong();
+	private final AtomicLong total = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Constructs an empty histogram with a name used in the reports.
+	 *
+	 * @param name
+	 */
+	public DriftHistogram(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Returns the name of the histogram.
+	 *
+	 * @return the name of the histogram
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Records that a slide was shown latenessNanos after its scheduled time. A
+	 * negative value means the slide was shown early.
+	 *
+	 * @param latenessNanos
+	 */
+	public void record(long latenessNanos) {
+		if (latenessNanos < 0) {
+			early.incrementAndGet();
+			latenessNanos = 0;
+		}
+		buckets.incrementAndGet(bucketOf(latenessNanos));
+		count.incrementAndGet();
+		total.addAndGet(latenessNanos);
+		long current;
+		while (latenessNanos > (current = max.get()) && !max.compareAndSet(current, latenessNanos)) {
+			// another thread raised the maximum; try again
+		}
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 *
+	 * @return the number of recorded values
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Returns the number of slides shown before their scheduled time.
+	 *
+	 * @return the number of early slides
+	 */
+	public long getEarlyCount() {
+		return early.get();
+	}
+
+	/**
+	 * Returns the largest recorded lateness in nanoseconds, exactly.
+	 *
+	 * @return the maximum lateness in nanoseconds
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the mean lateness in nanoseconds, or 0 if nothing was recorded.
+	 *
+	 * @return the mean lateness in nanoseconds
+	 */
+	public double getMean() {
+		long n = count.get();
+		return n == 0 ? 0 : (double) total.get() / n;
+	}
+
+	/**
+	 * Returns the lateness in nanoseconds that the given fraction (between 0 and
+	 * 1) of the recorded values do not exceed, e.g. 0.99 for p99. The result is
+	 * the upper end of the bucket holding that value, but never more than the
+	 * maximum. Returns 0 if nothing was recorded.
+	 *
+	 * @param fraction
+	 * @return the percentile in nanoseconds
+	 */
+	public long getPercentile(double fraction) {
+		if (fraction < 0 || fraction > 1) {
+			throw new IllegalArgumentException("A percentile must be between 0 and 1: " + fraction);
+		}
+		long n = count.get();
+		if (n == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(fraction * n));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += buckets.get(i);
+			if (seen >= rank) {
+				return Math.min(upperBound(i), max.get());
+			}
+		}
+		// values recorded while we were walking the buckets
+		return max.get();
+	}
+
+	/**
+	 * Sets all counters to 0.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets.set(i, 0);
+		}
+		count.set(0);
+		early.set(0);
+		total.set(0);
+		max.set(0);
+	}
+
+	/**
+	 * Prints the report of the histogram to out every periodMillis milliseconds
+	 * on a daemon thread, until the returned timer is cancelled.
+	 *
+	 * @param out
+	 * @param periodMillis
+	 * @return the timer printing the reports
+	 */
+	public Timer startReporting(final PrintStream out, long periodMillis) {
+		Timer timer = new Timer(name + "-drift-report", true);
+		timer.scheduleAtFixedRate(new TimerTask() {
+			public void run() {
+				out.println(DriftHistogram.this);
+			}
+		}, periodMillis, periodMillis);
+		return timer;
+	}
+
+	/**
+	 * Returns the report of the histogram, with the percentiles in milliseconds.
+	 *
+	 * @return the report of the histogram
+	 */
+	public String toString() {
+		return String.format("%s: %d slides (%d early)  drift p50 %.2f ms  p99 %.2f ms  max %.2f ms", name,
+				getCount(), getEarlyCount(), toMillis(getPercentile(0.50)), toMillis(getPercentile(0.99)),
+				toMillis(getMax()));
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/**
+	 * Returns the bucket of a value that is not negative.
+	 */
+	static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+	}
+
+	/**
+	 * Returns the largest value that falls into a bucket.
+	 */
+	static long upperBound(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKETS - 1;
+		long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+		return lower + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,58 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * DriftHistogramTest is a JUnit testing class to test the percentiles of the
+ * drift histogram.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class DriftHistogramTest {
+
+    @Test
+    public void emptyTest() {
+        DriftHistogram drift = new DriftHistogram("test");
+        assertEquals(0, drift.getCount());
+        assertEquals(0, drift.getPercentile(0.99));
+        assertEquals(0, drift.getMax());
+    }
+
+    @Test
+    public void percentileTest() {
+        DriftHistogram drift = new DriftHistogram("test");
+        for (int i = 1; i <= 1000; i++) {
+            drift.record(i * 1000000L);
+        }
+        assertEquals(1000, drift.getCount());
+        assertEquals(1000000000L, drift.getMax());
+        // within the bucket error
+        assertEquals(500e6, drift.getPercentile(0.50), 500e6 / DriftHistogram.SUB_BUCKETS);
+        assertEquals(990e6, drift.getPercentile(0.99), 990e6 / DriftHistogram.SUB_BUCKETS);
+        assertEquals(1000000000L, drift.getPercentile(1));
+        assertTrue(drift.getPercentile(0.50) >= 500e6);
+    }
+
+    @Test
+    public void earlyTest() {
+        DriftHistogram drift = new DriftHistogram("test");
+        drift.record(-5);
+        drift.record(7);
+        assertEquals(2, drift.getCount());
+        assertEquals(1, drift.getEarlyCount());
+        assertEquals(0, drift.getPercentile(0.50));
+        assertEquals(7, drift.getPercentile(1));
+        drift.reset();
+        assertEquals(0, drift.getCount());
+    }
+
+    @Test
+    public void bucketTest() {
+        long[] values = { 0, 1, 15, 16, 17, 31, 32, 1000, 123456789, Long.MAX_VALUE };
+        for (long value : values) {
+            int bucket = DriftHistogram.bucketOf(value);
+            assertTrue(value <= DriftHistogram.upperBound(bucket));
+            assertTrue(bucket == 0 || value > DriftHistogram.upperBound(bucket - 1));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * FrameCache holds pre-rendered slide frames and evicts the least recently used
+ * ones once the frames take more than a given number of bytes. It is safe to use
+ * from the rendering thread and the event dispatch thread at the same time.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class FrameCache {
+
+	private final long maxBytes;
+	private long usedBytes;
+	// frames in access order, least recently used first
+	private final LinkedHashMap<Slide, BufferedImage> frames = new LinkedHashMap<Slide, BufferedImage>(16, 0.75f, true);
+
+	/**
+	 * Constructs an empty cache that holds at most maxBytes bytes of frames.
+	 *
+	 * @param maxBytes
+	 */
+	public FrameCache(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Returns the frame of a slide, or null if it is not cached.
+	 *
+	 * @param slide
+	 * @return the frame of the slide, or null
+	 */
+	public synchronized BufferedImage get(Slide slide) {
+		return frames.get(slide);
+	}
+
+	/**
+	 * Checks if the frame of a slide is cached, without counting as a use.
+	 *
+	 * @param slide
+	 * @return true if the frame of the slide is cached
+	 */
+	public synchronized boolean contains(Slide slide) {
+		return frames.containsKey(slide);
+	}
+
+	/**
+	 * Caches the frame of a slide, evicting least recently used frames to stay
+	 * within the byte budget. A frame larger than the whole budget is not cached.
+	 *
+	 * @param slide
+	 * @param frame
+	 */
+	public synchronized void put(Slide slide, BufferedImage frame) {
+		long bytes = sizeOf(frame);
+		if (bytes > maxBytes) {
+			return;
+		}
+		BufferedImage previous = frames.put(slide, frame);
+		if (previous != null) {
+			usedBytes -= sizeOf(previous);
+		}
+		usedBytes += bytes;
+		Iterator<Map.Entry<Slide, BufferedImage>> eldest = frames.entrySet().iterator();
+		while (usedBytes > maxBytes) {
+			usedBytes -= sizeOf(eldest.next().getValue());
+			eldest.remove();
+		}
+	}
+
+	/**
+	 * Removes all frames.
+	 */
+	public synchronized void clear() {
+		frames.clear();
+		usedBytes = 0;
+	}
+
+	/**
+	 * Returns the number of bytes used by the cached frames.
+	 *
+	 * @return the number of bytes used
+	 */
+	public synchronized long getUsedBytes() {
+		return usedBytes;
+	}
+
+	/**
+	 * Returns the number of cached frames.
+	 *
+	 * @return the number of cached frames
+	 */
+	public synchronized int size() {
+		return frames.size();
+	}
+
+	private static long sizeOf(BufferedImage frame) {
+		return (long) frame.getWidth() * frame.getHeight() * 4;
+	}
+}
@@ -0,0 +1,34 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * HeapBuildEvent is a Flight Recorder event emitted when a BinaryHeap is
+ * (re)built from an unordered array with buildMaxHeap.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+@Name("slideshow.HeapBuild")
+@Label("Heap Build")
+@Category("Slide Show")
+@Description("A BinaryHeap heapified an array with buildMaxHeap")
+public class HeapBuildEvent extends Event {
+
+	@Label("Size")
+	int size;
+
+	private static final EventType TYPE = EventType.getEventType(HeapBuildEvent.class);
+
+	/**
+	 * Returns true if a running recording has this event enabled, so the heap
+	 * allocates no event when Flight Recorder is off.
+	 *
+	 * @return true if the event is recorded
+	 */
+	static boolean isRecorded() {
+		return TYPE.isEnabled();
+	}
+}
@@ -0,0 +1,40 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * HeapResizeEvent is a Flight Recorder event emitted when a BinaryHeap
+ * reallocates its backing array.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+@Name("slideshow.HeapResize")
+@Label("Heap Resize")
+@Category("Slide Show")
+@Description("A BinaryHeap reallocated its backing array")
+public class HeapResizeEvent extends Event {
+
+	@Label("Old Capacity")
+	int oldCapacity;
+
+	@Label("New Capacity")
+	int newCapacity;
+
+	@Label("Size")
+	int size;
+
+	private static final EventType TYPE = EventType.getEventType(HeapResizeEvent.class);
+
+	/**
+	 * Returns true if a running recording has this event enabled, so the heap
+	 * allocates no event when Flight Recorder is off.
+	 *
+	 * @return true if the event is recorded
+	 */
+	static boolean isRecorded() {
+		return TYPE.isEnabled();
+	}
+}
@@ -0,0 +1,173 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * HeapSort builds max-heaps and sorts arrays in place with heapsort.
+ *
+ * Building a heap of many elements is split on a ForkJoinPool: the two
+ * subtrees of a node are independent heaps, so they are built in parallel and
+ * only the nodes near the root, whose subtrees are too large for one task, are
+ * sifted down after their children's tasks have finished. Below
+ * PARALLEL_THRESHOLD elements the sequential bottom-up build is used, which is
+ * faster there than splitting the work.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class HeapSort {
+
+	/** The number of elements from which heaps are built in parallel **/
+	public static final int PARALLEL_THRESHOLD = 1 << 17;
+	// subtrees with fewer nodes are heapified sequentially by one task
+	private static final int SUBTREE_GRAIN = 1 << 13;
+
+	private HeapSort() {
+	}
+
+	/**
+	 * Sorts an array in place into ascending order.
+	 *
+	 * @param array
+	 */
+	public static void sort(Comparable[] array) {
+		buildMaxHeap(array, array.length);
+		// moves the maximum behind the shrinking heap
+		for (int size = array.length - 1; size > 0; size--) {
+			Comparable maximum = array[0];
+			removeRoot(array, size + 1);
+			array[size] = maximum;
+		}
+	}
+
+	/**
+	 * Makes the first size elements of an array a max-heap, in parallel on the
+	 * common ForkJoinPool if size is at least PARALLEL_THRESHOLD.
+	 *
+	 * @param array
+	 * @param size
+	 */
+	public static void buildMaxHeap(Comparable[] array, int size) {
+		buildMaxHeap(array, size, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Makes the first size elements of an array a max-heap, in parallel on the
+	 * given pool if size is at least PARALLEL_THRESHOLD.
+	 *
+	 * @param array
+	 * @param size
+	 * @param pool
+	 */
+	public static void buildMaxHeap(Comparable[] array, int size, ForkJoinPool pool) {
+		if (size < PARALLEL_THRESHOLD) {
+			for (int i = size / 2 - 1; i >= 0; i--) {
+				siftDown(array, i, size);
+			}
+		} else {
+			pool.invoke(new BuildTask(array, 0, size));
+		}
+	}
+
+	/**
+	 * BuildTask makes the subtree rooted at a node a max-heap.
+	 */
+	private static class BuildTask extends RecursiveAction {
+		private final Comparable[] array;
+		private final int root;
+		private final int size;
+
+		BuildTask(Comparable[] array, int root, int size) {
+			this.array = array;
+			this.root = root;
+			this.size = size;
+		}
+
+		protected void compute() {
+			if (subtreeSize(root, size) <= SUBTREE_GRAIN) {
+				heapifySubtree(array, root, size);
+				return;
+			}
+			int left = 2 * root + 1;
+			invokeAll(new BuildTask(array, left, size), new BuildTask(array, left + 1, size));
+			siftDown(array, root, size);
+		}
+	}
+
+	/**
+	 * Returns the number of nodes of the full tree of the height of the subtree
+	 * rooted at index, an upper bound on the size of the subtree.
+	 */
+	private static long subtreeSize(int index, int size) {
+		int height = Integer.numberOfLeadingZeros(index + 1) - Integer.numberOfLeadingZeros(size);
+		return (2L << height) - 1;
+	}
+
+	/**
+	 * Heapifies the subtree rooted at root level by level from the bottom up.
+	 * The nodes of the subtree on one level are next to each other in the array.
+	 */
+	private static void heapifySubtree(Comparable[] array, int root, int size) {
+		int lastParent = size / 2 - 1;
+		if (root > lastParent) {
+			return;
+		}
+		// the deepest level of the subtree that holds a parent
+		int levels = 0;
+		while ((((long) root + 1) << (levels + 1)) - 1 <= lastParent) {
+			levels++;
+		}
+		for (int level = levels; level >= 0; level--) {
+			int first = (int) ((((long) root + 1) << level) - 1);
+			int last = (int) Math.min(first + (1L << level) - 1, lastParent);
+			for (int i = last; i >= first; i--) {
+				siftDown(array, i, size);
+			}
+		}
+	}
+
+	/**
+	 * Lets the value at array[index] float down in a heap of the given size.
+	 */
+	private static void siftDown(Comparable[] array, int index, int size) {
+		Comparable value = array[index];
+		int half = size >>> 1;
+		while (index < half) {
+			int largest = 2 * index + 1;
+			if (largest + 1 < size && array[largest + 1].compareTo(array[largest]) > 0) {
+				largest++;
+			}
+			if (array[largest].compareTo(value) <= 0) {
+				break;
+			}
+			array[index] = array[largest];
+			index = largest;
+		}
+		array[index] = value;
+	}
+
+	/**
+	 * Removes the root of a heap of the given size with Floyd's bottom-up
+	 * method, leaving a heap of size - 1 elements.
+	 */
+	private static void removeRoot(Comparable[] array, int size) {
+		size--;
+		Comparable last = array[size];
+		int hole = 0;
+		int child;
+		while ((child = 2 * hole + 1) < size) {
+			if (child + 1 < size && array[child + 1].compareTo(array[child]) > 0) {
+				child++;
+			}
+			array[hole] = array[child];
+			hole = child;
+		}
+		while (hole > 0) {
+			int parent = (hole - 1) >>> 1;
+			if (array[parent].compareTo(last) >= 0) {
+				break;
+			}
+			array[hole] = array[parent];
+			hole = parent;
+		}
+		array[hole] = last;
+	}
+}
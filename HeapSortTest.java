@@ -0,0 +1,122 @@
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+/**
+ * HeapSortTest is a JUnit testing class to test heapsort and the parallel heap
+ * build, on arrays large enough to be built in parallel.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class HeapSortTest {
+    // above the parallel threshold and not a power of two
+    private static final int LARGE = HeapSort.PARALLEL_THRESHOLD * 2 + 12345;
+
+    private static Integer[] random(int size, int bound) {
+        Random random = new Random(42);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = bound > 0 ? random.nextInt(bound) : random.nextInt();
+        }
+        return BinaryHeap.convertToIntegerArray(values);
+    }
+
+    private static Integer[] ascending(int size) {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        return BinaryHeap.convertToIntegerArray(values);
+    }
+
+    private static void checkSort(Integer[] values) {
+        Integer[] expected = values.clone();
+        Arrays.sort(expected);
+        HeapSort.sort(values);
+        assertArrayEquals(expected, values);
+    }
+
+    private static void checkHeap(Comparable[] array, int size) {
+        for (int i = 1; i < size; i++) {
+            assertTrue("heap property at " + i, array[i].compareTo(array[(i - 1) / 2]) <= 0);
+        }
+    }
+
+    @Test
+    public void sortSmallTest() {
+        checkSort(new Integer[0]);
+        checkSort(new Integer[] { 1 });
+        checkSort(BinaryHeap.convertToIntegerArray(new int[] { 2, 1, 3, 10, 15, 8, 8 }));
+        checkSort(random(1000, 0));
+    }
+
+    @Test
+    public void sortRandomTest() {
+        checkSort(random(LARGE, 0));
+    }
+
+    @Test
+    public void sortDuplicatesTest() {
+        checkSort(random(LARGE, 16));
+    }
+
+    @Test
+    public void sortSortedTest() {
+        checkSort(ascending(LARGE));
+        Integer[] descending = ascending(LARGE);
+        reverse(descending);
+        checkSort(descending);
+    }
+
+    private static void reverse(Integer[] values) {
+        for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+            Integer temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+        }
+    }
+
+    @Test
+    public void buildSmallParallelismTest() {
+        // one and two workers still split the build into subtree tasks
+        for (int parallelism = 1; parallelism <= 2; parallelism++) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                Integer[] values = random(LARGE, 0);
+                HeapSort.buildMaxHeap(values, values.length, pool);
+                checkHeap(values, values.length);
+                Integer[] duplicates = random(LARGE, 4);
+                HeapSort.buildMaxHeap(duplicates, duplicates.length, pool);
+                checkHeap(duplicates, duplicates.length);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void buildPrefixTest() {
+        // only the first size elements become a heap
+        Integer[] values = ascending(LARGE);
+        int size = HeapSort.PARALLEL_THRESHOLD + 1;
+        HeapSort.buildMaxHeap(values, size);
+        checkHeap(values, size);
+        assertEquals(size - 1, (int) values[0]);
+        assertEquals(size, (int) values[size]);
+    }
+
+    @Test
+    public void binaryHeapParallelBuildTest() {
+        // BinaryHeap builds large heaps with HeapSort
+        Integer[] values = random(LARGE, 0);
+        Integer[] sorted = values.clone();
+        Arrays.sort(sorted);
+        BinaryHeap<Integer> heap = new BinaryHeap<Integer>(values);
+        for (int i = sorted.length - 1; i >= sorted.length - 1000; i--) {
+            assertEquals(sorted[i], heap.removeRoot());
+        }
+    }
+}
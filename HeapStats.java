@@ -0,0 +1,138 @@
+/**
+ * HeapStats counts what a BinaryHeap does: comparisons, element moves, resizes,
+ * heap builds and the deepest sift, plus the size and capacity at the time of
+ * the snapshot.
+ *
+ * Counting is switched on with -Dbinaryheap.stats=true. The switch is a static
+ * final constant, so when it is off the JIT removes the counting code, a heap
+ * allocates no HeapStats, and the heap runs exactly as without instrumentation.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class HeapStats {
+
+	/** True if the heaps count their operations **/
+	public static final boolean ENABLED = Boolean.getBoolean("binaryheap.stats");
+
+	long comparisons;
+	long moves;
+	long resizes;
+	long builds;
+	int maxSiftDepth;
+	private int size;
+	private int capacity;
+
+	/**
+	 * Records a sift (up or down) that went through the given number of levels.
+	 * 
+	 * @param depth
+	 */
+	void recordSift(int depth) {
+		if (depth > maxSiftDepth) {
+			maxSiftDepth = depth;
+		}
+	}
+
+	/**
+	 * Returns a copy of the counters together with the given size and capacity.
+	 * 
+	 * @param size
+	 * @param capacity
+	 * @return a snapshot of the statistics
+	 */
+	HeapStats snapshot(int size, int capacity) {
+		HeapStats copy = new HeapStats();
+		copy.comparisons = comparisons;
+		copy.moves = moves;
+		copy.resizes = resizes;
+		copy.builds = builds;
+		copy.maxSiftDepth = maxSiftDepth;
+		copy.size = size;
+		copy.capacity = capacity;
+		return copy;
+	}
+
+	/**
+	 * Sets all counters to 0.
+	 */
+	void reset() {
+		comparisons = 0;
+		moves = 0;
+		resizes = 0;
+		builds = 0;
+		maxSiftDepth = 0;
+	}
+
+	/**
+	 * Returns the number of element comparisons.
+	 * 
+	 * @return the number of comparisons
+	 */
+	public long getComparisons() {
+		return comparisons;
+	}
+
+	/**
+	 * Returns the number of element writes made while sifting and swapping.
+	 * 
+	 * @return the number of moves
+	 */
+	public long getMoves() {
+		return moves;
+	}
+
+	/**
+	 * Returns the number of times the backing array was reallocated.
+	 * 
+	 * @return the number of resizes
+	 */
+	public long getResizes() {
+		return resizes;
+	}
+
+	/**
+	 * Returns the number of buildMaxHeap calls.
+	 * 
+	 * @return the number of heap builds
+	 */
+	public long getBuilds() {
+		return builds;
+	}
+
+	/**
+	 * Returns the largest number of levels a single sift went through.
+	 * 
+	 * @return the deepest sift
+	 */
+	public int getMaxSiftDepth() {
+		return maxSiftDepth;
+	}
+
+	/**
+	 * Returns the size of the heap when the snapshot was taken.
+	 * 
+	 * @return the size of the heap
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the capacity of the heap when the snapshot was taken.
+	 * 
+	 * @return the capacity of the heap
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns a String representation of the statistics.
+	 * 
+	 * @return a String representation of the statistics
+	 */
+	public String toString() {
+		return "HeapStats[size=" + size + ", capacity=" + capacity + ", comparisons=" + comparisons + ", moves="
+				+ moves + ", resizes=" + resizes + ", builds=" + builds + ", maxSiftDepth=" + maxSiftDepth + "]";
+	}
+}
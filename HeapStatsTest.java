@@ -0,0 +1,101 @@
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+/**
+ * HeapStatsTest is a JUnit testing class to test the operation counters and the
+ * Flight Recorder events of BinaryHeap. The counters are only updated when the
+ * tests run with -Dbinaryheap.stats=true; the build runs this class both with
+ * and without it.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class HeapStatsTest {
+
+    private static BinaryHeap<Integer> grow(int count) {
+        BinaryHeap<Integer> heap = new BinaryHeap<Integer>(2);
+        for (int i = 0; i < count; i++) {
+            heap.ensureCapacity(heap.size() + 1);
+            heap.addElement(i);
+        }
+        return heap;
+    }
+
+    @Test
+    public void countersTest() {
+        BinaryHeap<Integer> heap = grow(100);
+        heap.removeRoot();
+        HeapStats stats = heap.getStats();
+        assertEquals(99, stats.getSize());
+        assertEquals(heap.capacity(), stats.getCapacity());
+        if (HeapStats.ENABLED) {
+            // ascending values move every new element up to the root
+            assertTrue(stats.getComparisons() >= 99);
+            assertTrue(stats.getMoves() >= 99);
+            assertTrue(stats.getResizes() >= 5);
+            assertEquals(6, stats.getMaxSiftDepth());
+        } else {
+            assertEquals(0, stats.getComparisons());
+            assertEquals(0, stats.getMoves());
+            assertEquals(0, stats.getResizes());
+        }
+        heap.resetStats();
+        assertEquals(0, heap.getStats().getComparisons());
+        assertEquals(0, heap.getStats().getResizes());
+    }
+
+    @Test
+    public void buildsTest() {
+        BinaryHeap<Integer> heap = new BinaryHeap<Integer>(BinaryHeap.convertToIntegerArray(new int[] { 2, 1, 3, 10, 15, 8 }));
+        assertEquals(HeapStats.ENABLED ? 1 : 0, heap.getStats().getBuilds());
+        assertEquals(15, (int) heap.removeRoot());
+    }
+
+    @Test
+    public void snapshotTest() {
+        BinaryHeap<Integer> heap = grow(10);
+        HeapStats before = heap.getStats();
+        heap.addElement(-1);
+        // a snapshot does not change with the heap
+        assertEquals(10, before.getSize());
+        assertEquals(11, heap.getStats().getSize());
+    }
+
+    @Test
+    public void eventsTest() throws IOException {
+        assertFalse(HeapResizeEvent.isRecorded());
+        Path file = Files.createTempFile("heap", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("slideshow.HeapResize");
+            recording.enable("slideshow.HeapBuild");
+            recording.start();
+            assertTrue(HeapResizeEvent.isRecorded());
+            assertTrue(HeapBuildEvent.isRecorded());
+            grow(100);
+            new BinaryHeap<Integer>(BinaryHeap.convertToIntegerArray(new int[] { 3, 1, 2 }));
+            recording.stop();
+            recording.dump(file);
+            int resizes = 0;
+            int builds = 0;
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                String name = event.getEventType().getName();
+                if (name.equals("slideshow.HeapResize")) {
+                    resizes++;
+                } else if (name.equals("slideshow.HeapBuild")) {
+                    builds++;
+                }
+            }
+            assertTrue(resizes >= 5);
+            assertTrue(builds >= 1);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertFalse(HeapResizeEvent.isRecorded());
+    }
+}
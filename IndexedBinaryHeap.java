@@ -0,0 +1,335 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Indexed Binary Heap data structure. Every inserted element gets a handle that
+ * stays valid while the element moves around the heap, because the heap keeps
+ * a handle-to-position table up to date on every move. This makes contains
+ * O(1) and lets callers change the key of (or remove) an element they have a
+ * handle for in O(log n), without knowing its current array index.
+ *
+ * A handle is a long that packs the slot of the element (low 32 bits) and the
+ * generation of the slot (high 32 bits). Slots of removed elements are reused
+ * by later insertions with the next generation, so a stale handle of a removed
+ * element is rejected instead of reaching the new element in its slot.
+ *
+ * @author Xueying Xu (Shirley)
+ * @param <T>
+ */
+public class IndexedBinaryHeap<T extends Comparable<T>> implements Heap<T> {
+	// heap order: heap[i] is the slot of the element at position i
+	private int[] heap;
+	// positions[s] is the position of slot s in the heap, or -1 if s is free
+	private int[] positions;
+	// values[s] is the element of slot s
+	private Object[] values;
+	// generations[s] is bumped every time slot s is freed
+	private int[] generations;
+	// stack of free slots
+	private int[] freeHandles;
+	private int freeCount;
+	// number of slots ever given out (slots are 0 .. handleCount - 1)
+	private int handleCount;
+	// keep track of the heap size (different from the capacity)
+	private int heapSize;
+	// number of copies of every element in the heap, for contains(T)
+	private final Map<T, Integer> counts = new HashMap<T, Integer>();
+
+	/**
+	 * Constructs an empty indexed binary heap with a given capacity.
+	 *
+	 * @param capacity
+	 */
+	public IndexedBinaryHeap(int capacity) {
+		heap = new int[capacity];
+		positions = new int[capacity];
+		values = new Object[capacity];
+		generations = new int[capacity];
+		freeHandles = new int[capacity];
+	}
+
+	/**
+	 * Returns true if the heap has no elements; false otherwise.
+	 *
+	 * @return true if the heap has no elements; false otherwise
+	 */
+	public boolean isEmpty() {
+		return heapSize == 0;
+	}
+
+	/**
+	 * Returns the size of the heap.
+	 *
+	 * @return the size of the heap
+	 */
+	public int size() {
+		return heapSize;
+	}
+
+	/**
+	 * Returns the capacity of the heap.
+	 *
+	 * @return the capacity of the heap
+	 */
+	public int capacity() {
+		return heap.length;
+	}
+
+	/**
+	 * Adds a new value to the heap, growing it if needed.
+	 *
+	 * @param value
+	 * @return the handle of the new value
+	 */
+	public long insert(T value) {
+		int slot;
+		if (freeCount > 0) {
+			slot = freeHandles[--freeCount];
+		} else {
+			if (handleCount == heap.length) {
+				grow();
+			}
+			slot = handleCount++;
+		}
+		values[slot] = value;
+		heap[heapSize] = slot;
+		positions[slot] = heapSize;
+		heapSize++;
+		counts.merge(value, 1, Integer::sum);
+		heapUp(heapSize - 1);
+		return handleOf(slot);
+	}
+
+	/**
+	 * Returns the maximum element in the heap without removing it.
+	 *
+	 * @return the maximum element, or null if the heap is empty
+	 */
+	public T maximum() {
+		return isEmpty() ? null : (T) values[heap[0]];
+	}
+
+	/**
+	 * Returns the handle of the maximum element in the heap.
+	 *
+	 * @return the handle of the maximum element, or -1 if the heap is empty
+	 */
+	public long maximumHandle() {
+		return isEmpty() ? -1 : handleOf(heap[0]);
+	}
+
+	/**
+	 * Removes and returns the maximum element in the heap.
+	 *
+	 * @return the maximum element in the heap, or null if the heap is empty
+	 */
+	public T removeRoot() {
+		return isEmpty() ? null : remove(handleOf(heap[0]));
+	}
+
+	/**
+	 * Returns the element of a handle.
+	 *
+	 * @param handle
+	 * @return the element of the handle
+	 */
+	public T get(long handle) {
+		return (T) values[checkHandle(handle)];
+	}
+
+	/**
+	 * Checks if a handle refers to an element that is still in the heap. The
+	 * handle of a removed element is not in the heap, even if its slot has been
+	 * reused.
+	 *
+	 * @param handle
+	 * @return true if the handle is in the heap, false otherwise
+	 */
+	public boolean containsHandle(long handle) {
+		int slot = (int) handle;
+		return slot >= 0 && slot < handleCount && positions[slot] >= 0
+				&& generations[slot] == (int) (handle >>> 32);
+	}
+
+	/**
+	 * Checks if a certain value exists in the heap.
+	 *
+	 * @param value
+	 * @return true if the value is in the heap, false otherwise
+	 */
+	public boolean contains(T value) {
+		return counts.containsKey(value);
+	}
+
+	/**
+	 * Replaces the element of a handle with a greater or equal element and moves
+	 * it up to its correct position.
+	 *
+	 * @param handle
+	 * @param value
+	 */
+	public void increaseKey(long handle, T value) {
+		int slot = checkHandle(handle);
+		if (value.compareTo((T) values[slot]) < 0) {
+			throw new IllegalArgumentException("The new value is smaller than the current value.");
+		}
+		replace(slot, value);
+		heapUp(positions[slot]);
+	}
+
+	/**
+	 * Replaces the element of a handle with a smaller or equal element and moves
+	 * it down to its correct position.
+	 *
+	 * @param handle
+	 * @param value
+	 */
+	public void decreaseKey(long handle, T value) {
+		int slot = checkHandle(handle);
+		if (value.compareTo((T) values[slot]) > 0) {
+			throw new IllegalArgumentException("The new value is greater than the current value.");
+		}
+		replace(slot, value);
+		maxHeapify(positions[slot]);
+	}
+
+	/**
+	 * Removes the element of a handle from the heap. The handle becomes invalid;
+	 * its slot may be given to a later insertion under a new handle.
+	 *
+	 * @param handle
+	 * @return the removed element
+	 */
+	public T remove(long handle) {
+		int slot = checkHandle(handle);
+		T value = (T) values[slot];
+		int position = positions[slot];
+		heapSize--;
+		if (position != heapSize) {
+			// fill the hole with the last element and restore the heap property
+			int last = heap[heapSize];
+			heap[position] = last;
+			positions[last] = position;
+			heapUp(position);
+			maxHeapify(positions[last]);
+		}
+		positions[slot] = -1;
+		values[slot] = null;
+		generations[slot]++;
+		freeHandles[freeCount++] = slot;
+		decrementCount(value);
+		return value;
+	}
+
+	/**
+	 * Clears the entire heap. All handles become invalid.
+	 */
+	public void clear() {
+		Arrays.fill(values, 0, handleCount, null);
+		for (int slot = 0; slot < handleCount; slot++) {
+			generations[slot]++;
+		}
+		heapSize = 0;
+		handleCount = 0;
+		freeCount = 0;
+		counts.clear();
+	}
+
+	/**
+	 * Moves the handle at position i up until its parent is greater or equal.
+	 *
+	 * @param i
+	 */
+	private void heapUp(int i) {
+		int handle = heap[i];
+		T value = (T) values[handle];
+		while (i > 0) {
+			int parent = (i - 1) / 2;
+			if (((T) values[heap[parent]]).compareTo(value) >= 0) {
+				break;
+			}
+			heap[i] = heap[parent];
+			positions[heap[i]] = i;
+			i = parent;
+		}
+		heap[i] = handle;
+		positions[handle] = i;
+	}
+
+	/**
+	 * Moves the handle at position i down until its children are smaller or equal.
+	 *
+	 * @param i
+	 */
+	private void maxHeapify(int i) {
+		int handle = heap[i];
+		T value = (T) values[handle];
+		int half = heapSize / 2;
+		while (i < half) {
+			int child = 2 * i + 1;
+			if (child + 1 < heapSize && ((T) values[heap[child + 1]]).compareTo((T) values[heap[child]]) > 0) {
+				child++;
+			}
+			if (((T) values[heap[child]]).compareTo(value) <= 0) {
+				break;
+			}
+			heap[i] = heap[child];
+			positions[heap[i]] = i;
+			i = child;
+		}
+		heap[i] = handle;
+		positions[handle] = i;
+	}
+
+	private void replace(int slot, T value) {
+		decrementCount((T) values[slot]);
+		values[slot] = value;
+		counts.merge(value, 1, Integer::sum);
+	}
+
+	private void decrementCount(T value) {
+		counts.computeIfPresent(value, (key, count) -> count == 1 ? null : count - 1);
+	}
+
+	/**
+	 * Returns the handle of a slot in its current generation.
+	 */
+	private long handleOf(int slot) {
+		return ((long) generations[slot] << 32) | slot;
+	}
+
+	/**
+	 * Returns the slot of a handle that is in the heap.
+	 *
+	 * @throws IllegalArgumentException if the handle is not in the heap
+	 */
+	private int checkHandle(long handle) {
+		if (!containsHandle(handle)) {
+			throw new IllegalArgumentException("Not a handle of this heap: " + handle);
+		}
+		return (int) handle;
+	}
+
+	private void grow() {
+		int newCapacity = Math.max(heap.length + 1, (int) (heap.length * BinaryHeap.DEFAULT_GROWTH_FACTOR));
+		heap = Arrays.copyOf(heap, newCapacity);
+		positions = Arrays.copyOf(positions, newCapacity);
+		values = Arrays.copyOf(values, newCapacity);
+		generations = Arrays.copyOf(generations, newCapacity);
+		freeHandles = Arrays.copyOf(freeHandles, newCapacity);
+	}
+
+	/**
+	 * Returns a String representation of the heap in heap order.
+	 *
+	 * @return a String representation of the heap
+	 */
+	public String toString() {
+		Object[] ordered = new Object[heapSize];
+		for (int i = 0; i < heapSize; i++) {
+			ordered[i] = values[heap[i]];
+		}
+		return Arrays.toString(ordered);
+	}
+}
@@ -0,0 +1,126 @@
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * IndexedBinaryHeapTest is a JUnit testing class to test the handle-based
+ * operations of the indexed binary heap.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class IndexedBinaryHeapTest {
+    protected IndexedBinaryHeap<Integer> heap;
+    protected long[] handles;
+
+    @Before
+    public void init() {
+        heap = new IndexedBinaryHeap<Integer>(2);
+        int[] values = {2, 1, 3, 10, 15, 8};
+        handles = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            handles[i] = heap.insert(values[i]);
+        }
+    }
+
+    @Test
+    public void insertTest() {
+        assertEquals(6, heap.size());
+        assertEquals("[15, 10, 8, 1, 3, 2]", heap.toString());
+        assertEquals(15, (int) heap.maximum());
+        assertEquals(handles[4], heap.maximumHandle());
+        // handles keep pointing at their elements after the heap moved them
+        for (int i = 0; i < handles.length; i++) {
+            assertTrue(heap.containsHandle(handles[i]));
+        }
+        assertEquals(10, (int) heap.get(handles[3]));
+    }
+
+    @Test
+    public void containsTest() {
+        assertTrue(heap.contains(8));
+        assertFalse(heap.contains(7));
+        heap.remove(handles[5]);
+        assertFalse(heap.contains(8));
+    }
+
+    @Test
+    public void increaseAndDecreaseKeyTest() {
+        heap.increaseKey(handles[1], 20);
+        assertEquals(handles[1], heap.maximumHandle());
+        heap.decreaseKey(handles[1], 0);
+        assertEquals(15, (int) heap.maximum());
+        assertEquals(0, (int) heap.get(handles[1]));
+        int[] expected = {15, 10, 8, 3, 2, 0};
+        for (int value : expected) {
+            assertEquals(value, (int) heap.removeRoot());
+        }
+        assertNull(heap.removeRoot());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void increaseKeyWithSmallerValueTest() {
+        heap.increaseKey(handles[3], 4);
+    }
+
+    @Test
+    public void removeTest() {
+        assertEquals(10, (int) heap.remove(handles[3]));
+        assertFalse(heap.containsHandle(handles[3]));
+        assertEquals(5, heap.size());
+        // the freed slot is reused under a new handle
+        long handle = heap.insert(7);
+        assertNotEquals(handles[3], handle);
+        assertTrue(heap.containsHandle(handle));
+        assertFalse(heap.containsHandle(handles[3]));
+        int[] expected = {15, 8, 7, 3, 2, 1};
+        for (int value : expected) {
+            assertEquals(value, (int) heap.removeRoot());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void removeStaleHandleTest() {
+        heap.remove(handles[0]);
+        heap.remove(handles[0]);
+    }
+
+    @Test
+    public void staleHandleAfterReuseTest() {
+        heap.remove(handles[2]);
+        long reused = heap.insert(4);
+        // the stale handle neither reads nor changes the element in its old slot
+        assertFalse(heap.containsHandle(handles[2]));
+        try {
+            heap.get(handles[2]);
+            fail("a stale handle read a new element");
+        } catch (IllegalArgumentException expected) {
+            // the slot has a new generation
+        }
+        try {
+            heap.increaseKey(handles[2], 100);
+            fail("a stale handle changed a new element");
+        } catch (IllegalArgumentException expected) {
+            // the slot has a new generation
+        }
+        try {
+            heap.remove(handles[2]);
+            fail("a stale handle removed a new element");
+        } catch (IllegalArgumentException expected) {
+            // the slot has a new generation
+        }
+        assertEquals(4, (int) heap.get(reused));
+        assertEquals(6, heap.size());
+    }
+
+    @Test
+    public void staleHandleAfterClearTest() {
+        heap.clear();
+        long handle = heap.insert(5);
+        for (long stale : handles) {
+            assertFalse(heap.containsHandle(stale));
+        }
+        assertEquals(5, (int) heap.get(handle));
+        assertFalse(heap.containsHandle(-1));
+    }
+}
@@ -0,0 +1,220 @@
+import java.util.Arrays;
+import java.util.function.ToLongFunction;
+
+/**
+ * KeyedPriorityQueue orders its elements by a long key read from each element
+ * with a key extractor, e.g. the time of a slide, instead of by compareTo.
+ * Whether the smallest or the largest key comes first is chosen when the queue
+ * is created, so no element type has to invert its natural order.
+ *
+ * Elements with the same key come out first in, first out. The keys, the
+ * insertion sequence numbers and the elements are kept in parallel arrays of a
+ * binary heap, and an entry is compared by its key and then its sequence
+ * number, so the sift loops compare nothing but primitive longs. Any long key
+ * is accepted and the size of the queue is only limited by its arrays.
+ *
+ * @author Xueying Xu (Shirley)
+ * @param <E>
+ */
+public class KeyedPriorityQueue<E> {
+
+	private final ToLongFunction<? super E> keyExtractor;
+	private final boolean smallestFirst;
+	// the key, sequence number and element of each entry, in heap order
+	private long[] keys;
+	private long[] sequences;
+	private Object[] elements;
+	private int size;
+	// the queue never shrinks below the capacity it was created with
+	private final int minimumCapacity;
+	// sequence number of the next inserted element
+	private long nextSequence;
+
+	/**
+	 * Constructs an empty queue with the specified capacity.
+	 *
+	 * @param capacity
+	 * @param keyExtractor
+	 * @param smallestFirst true if the smallest key has the highest priority
+	 */
+	public KeyedPriorityQueue(int capacity, ToLongFunction<? super E> keyExtractor, boolean smallestFirst) {
+		this.keyExtractor = keyExtractor;
+		this.smallestFirst = smallestFirst;
+		minimumCapacity = Math.max(1, capacity);
+		keys = new long[minimumCapacity];
+		sequences = new long[minimumCapacity];
+		elements = new Object[minimumCapacity];
+	}
+
+	/**
+	 * Inserts a new element in the queue, after all elements with the same key.
+	 *
+	 * @param element
+	 */
+	public void insert(E element) {
+		long key = keyExtractor.applyAsLong(element);
+		if (size == keys.length) {
+			int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8, (long) (keys.length * BinaryHeap.DEFAULT_GROWTH_FACTOR));
+			if (newCapacity <= size) {
+				if (size == Integer.MAX_VALUE - 8) {
+					throw new IllegalStateException("The queue is full.");
+				}
+				newCapacity = size + 1;
+			}
+			setCapacity(newCapacity);
+		}
+		heapUp(size++, key, nextSequence++, element);
+	}
+
+	/**
+	 * Returns (Peeks) the element with the highest priority.
+	 *
+	 * @return the element with the highest priority, or null if empty
+	 */
+	public E maximum() {
+		return size == 0 ? null : (E) elements[0];
+	}
+
+	/**
+	 * Returns the key of the element with the highest priority.
+	 *
+	 * @return the key of the element with the highest priority
+	 * @throws IllegalStateException if the queue is empty
+	 */
+	public long maximumKey() {
+		if (size == 0) {
+			throw new IllegalStateException("The queue is empty.");
+		}
+		return keys[0];
+	}
+
+	/**
+	 * Removes and returns the element with the highest priority.
+	 *
+	 * @return the element with the highest priority, or null if empty
+	 */
+	public E extractMaximum() {
+		if (size == 0) {
+			return null;
+		}
+		E maximum = (E) elements[0];
+		size--;
+		long lastKey = keys[size];
+		long lastSequence = sequences[size];
+		Object lastElement = elements[size];
+		elements[size] = null;
+		if (size > 0) {
+			heapDown(lastKey, lastSequence, lastElement);
+		} else {
+			nextSequence = 0;
+		}
+		if (keys.length > minimumCapacity && size < keys.length * BinaryHeap.DEFAULT_SHRINK_THRESHOLD) {
+			setCapacity(Math.max(minimumCapacity, keys.length / 2));
+		}
+		return maximum;
+	}
+
+	/**
+	 * Returns true if the smallest key has the highest priority.
+	 *
+	 * @return true if the smallest key comes first
+	 */
+	public boolean isSmallestFirst() {
+		return smallestFirst;
+	}
+
+	/**
+	 * Removes all the elements.
+	 */
+	public void clear() {
+		Arrays.fill(elements, 0, size, null);
+		size = 0;
+		nextSequence = 0;
+	}
+
+	/**
+	 * Returns true if the queue has no elements; false otherwise.
+	 *
+	 * @return true if the queue has no elements
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the number of elements stored in the queue.
+	 *
+	 * @return the number of elements stored
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns true if the entry (key, sequence) has a higher priority than the
+	 * entry (otherKey, otherSequence): its key comes first, or it has the same
+	 * key and was inserted earlier.
+	 */
+	private boolean precedes(long key, long sequence, long otherKey, long otherSequence) {
+		if (key != otherKey) {
+			return smallestFirst ? key < otherKey : key > otherKey;
+		}
+		return sequence < otherSequence;
+	}
+
+	/**
+	 * Places the entry at index i after moving every lower-priority ancestor one
+	 * level down.
+	 */
+	private void heapUp(int i, long key, long sequence, Object element) {
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (!precedes(key, sequence, keys[parent], sequences[parent])) {
+				break;
+			}
+			move(parent, i);
+			i = parent;
+		}
+		set(i, key, sequence, element);
+	}
+
+	/**
+	 * Places the entry in the hole at the root after moving every higher-priority
+	 * child on its path one level up.
+	 */
+	private void heapDown(long key, long sequence, Object element) {
+		int i = 0;
+		int half = size >>> 1;
+		while (i < half) {
+			int child = 2 * i + 1;
+			int right = child + 1;
+			if (right < size && precedes(keys[right], sequences[right], keys[child], sequences[child])) {
+				child = right;
+			}
+			if (!precedes(keys[child], sequences[child], key, sequence)) {
+				break;
+			}
+			move(child, i);
+			i = child;
+		}
+		set(i, key, sequence, element);
+	}
+
+	private void move(int from, int to) {
+		keys[to] = keys[from];
+		sequences[to] = sequences[from];
+		elements[to] = elements[from];
+	}
+
+	private void set(int i, long key, long sequence, Object element) {
+		keys[i] = key;
+		sequences[i] = sequence;
+		elements[i] = element;
+	}
+
+	private void setCapacity(int newCapacity) {
+		keys = Arrays.copyOf(keys, newCapacity);
+		sequences = Arrays.copyOf(sequences, newCapacity);
+		elements = Arrays.copyOf(elements, newCapacity);
+	}
+}
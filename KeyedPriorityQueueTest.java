@@ -0,0 +1,100 @@
+import static org.junit.Assert.*;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+import org.junit.Test;
+
+/**
+ * KeyedPriorityQueueTest is a JUnit testing class to test the priority queue
+ * ordered by extracted long keys.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class KeyedPriorityQueueTest {
+    protected static final ToLongFunction<Slide> SLIDE_TIME = new ToLongFunction<Slide>() {
+        public long applyAsLong(Slide slide) {
+            return slide.getSlideTime();
+        }
+    };
+
+    @Test
+    public void smallestFirstTest() {
+        KeyedPriorityQueue<Slide> slides = new KeyedPriorityQueue<Slide>(2, SLIDE_TIME, true);
+        slides.insert(new Slide("three", 3));
+        slides.insert(new Slide("one", 1));
+        slides.insert(new Slide("two", 2));
+        assertEquals(1, slides.maximumKey());
+        assertEquals("one", slides.extractMaximum().getSlideText());
+        assertEquals("two", slides.extractMaximum().getSlideText());
+        assertEquals("three", slides.extractMaximum().getSlideText());
+        assertNull(slides.extractMaximum());
+    }
+
+    @Test
+    public void largestFirstTest() {
+        KeyedPriorityQueue<Slide> slides = new KeyedPriorityQueue<Slide>(2, SLIDE_TIME, false);
+        slides.insert(new Slide("minus", -4));
+        slides.insert(new Slide("nine", 9));
+        slides.insert(new Slide("zero", 0));
+        assertEquals(9, slides.maximumKey());
+        assertEquals("nine", slides.extractMaximum().getSlideText());
+        assertEquals("zero", slides.extractMaximum().getSlideText());
+        assertEquals(-4, slides.maximumKey());
+    }
+
+    @Test
+    public void fifoTest() {
+        KeyedPriorityQueue<Slide> slides = new KeyedPriorityQueue<Slide>(2, SLIDE_TIME, true);
+        for (int i = 0; i < 100; i++) {
+            slides.insert(new Slide("slide " + i, i % 3));
+        }
+        // equal keys come out in the order they were inserted
+        for (int key = 0; key < 3; key++) {
+            for (int i = key; i < 100; i += 3) {
+                assertEquals(key, slides.maximumKey());
+                assertEquals("slide " + i, slides.extractMaximum().getSlideText());
+            }
+        }
+        assertTrue(slides.isEmpty());
+    }
+
+    @Test
+    public void fullKeyRangeTest() {
+        KeyedPriorityQueue<Long> keys = new KeyedPriorityQueue<Long>(2, new ToLongFunction<Long>() {
+            public long applyAsLong(Long value) {
+                return value;
+            }
+        }, true);
+        // epoch milliseconds and the ends of the long range are all accepted
+        long[] values = { 1700000000000L, Long.MAX_VALUE, 0, Long.MIN_VALUE, -1700000000000L, Long.MAX_VALUE };
+        for (long value : values) {
+            keys.insert(value);
+        }
+        long[] expected = { Long.MIN_VALUE, -1700000000000L, 0, 1700000000000L, Long.MAX_VALUE, Long.MAX_VALUE };
+        for (long value : expected) {
+            assertEquals(value, keys.maximumKey());
+            assertEquals(value, (long) keys.extractMaximum());
+        }
+        assertTrue(keys.isEmpty());
+    }
+
+    @Test
+    public void randomFifoTest() {
+        // random keys with many ties, extracted largest first and in insertion order
+        KeyedPriorityQueue<long[]> entries = new KeyedPriorityQueue<long[]>(1, new ToLongFunction<long[]>() {
+            public long applyAsLong(long[] entry) {
+                return entry[0];
+            }
+        }, false);
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            entries.insert(new long[] { random.nextInt(50) * 1000000000000L, i });
+        }
+        long[] previous = entries.extractMaximum();
+        while (!entries.isEmpty()) {
+            long[] next = entries.extractMaximum();
+            assertTrue(next[0] < previous[0] || (next[0] == previous[0] && next[1] > previous[1]));
+            previous = next;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+import java.util.Arrays;
+
+/**
+ * LongKeyHeap is a binary max-heap keyed by primitive longs. The keys are kept
+ * in a long array and the elements in a parallel array, so no key is boxed and
+ * every comparison in the sift loops is a primitive comparison instead of a
+ * virtual compareTo call.
+ *
+ * The element array is only allocated once a non-null element is inserted, so
+ * the heap can also be used as a plain heap of (packed) long keys.
+ *
+ * @author Xueying Xu (Shirley)
+ * @param <E>
+ */
+public class LongKeyHeap<E> {
+	// array to hold the keys of the heap
+	private long[] keys;
+	// array to hold the elements, parallel to keys (null until first needed)
+	private Object[] elements;
+	// keep track of the heap size (different from the capacity)
+	private int heapSize;
+	// the heap never shrinks below the capacity it was created with
+	private int minimumCapacity;
+
+	/**
+	 * Constructs an empty heap with a given capacity.
+	 *
+	 * @param capacity
+	 */
+	public LongKeyHeap(int capacity) {
+		keys = new long[capacity];
+		heapSize = 0;
+		minimumCapacity = capacity;
+	}
+
+	/**
+	 * Returns true if the heap has no elements; false otherwise.
+	 *
+	 * @return true if the heap has no elements; false otherwise
+	 */
+	public boolean isEmpty() {
+		return heapSize == 0;
+	}
+
+	/**
+	 * Returns the size of the heap.
+	 *
+	 * @return the size of the heap
+	 */
+	public int size() {
+		return heapSize;
+	}
+
+	/**
+	 * Returns the capacity of the heap.
+	 *
+	 * @return the capacity of the heap
+	 */
+	public int capacity() {
+		return keys.length;
+	}
+
+	/**
+	 * Makes sure the heap can hold at least minCapacity entries, growing the
+	 * arrays by the same factor as BinaryHeap.
+	 *
+	 * @param minCapacity
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > keys.length) {
+			int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8,
+					(long) (keys.length * BinaryHeap.DEFAULT_GROWTH_FACTOR));
+			setCapacity(Math.max(newCapacity, minCapacity));
+		}
+	}
+
+	/**
+	 * Trims the capacity of the heap to its current size.
+	 */
+	public void trimToSize() {
+		if (heapSize < keys.length) {
+			setCapacity(heapSize);
+		}
+	}
+
+	/**
+	 * Sets the capacity of the heap.
+	 *
+	 * @param newCapacity
+	 */
+	private void setCapacity(int newCapacity) {
+		keys = Arrays.copyOf(keys, newCapacity);
+		if (elements != null) {
+			elements = Arrays.copyOf(elements, newCapacity);
+		}
+	}
+
+	/**
+	 * Returns the key stored at index i.
+	 *
+	 * @param i
+	 * @return the key stored at index i
+	 */
+	public long getKey(int i) {
+		checkIndex(i);
+		return keys[i];
+	}
+
+	/**
+	 * Returns the element stored at index i.
+	 *
+	 * @param i
+	 * @return the element stored at index i
+	 */
+	public E getElement(int i) {
+		checkIndex(i);
+		return elements == null ? null : (E) elements[i];
+	}
+
+	/**
+	 * Adds a key without an element to the heap.
+	 *
+	 * @param key
+	 */
+	public void insert(long key) {
+		insert(key, null);
+	}
+
+	/**
+	 * Adds a new element with the given key to the heap, growing it if needed.
+	 *
+	 * @param key
+	 * @param element
+	 */
+	public void insert(long key, E element) {
+		ensureCapacity(heapSize + 1);
+		if (element != null && elements == null) {
+			elements = new Object[keys.length];
+		}
+		heapSize++;
+		heapUp(heapSize - 1, key, element);
+	}
+
+	/**
+	 * Returns the maximum key in the heap.
+	 *
+	 * @return the maximum key in the heap
+	 */
+	public long maximumKey() {
+		if (isEmpty()) {
+			throw new IllegalStateException("The heap is empty.");
+		}
+		return keys[0];
+	}
+
+	/**
+	 * Returns the element with the maximum key, or null if the heap is empty.
+	 *
+	 * @return the element with the maximum key
+	 */
+	public E maximum() {
+		if (isEmpty() || elements == null) {
+			return null;
+		}
+		return (E) elements[0];
+	}
+
+	/**
+	 * Removes the entry with the maximum key and returns its element, or null if
+	 * the heap is empty. Read maximumKey() first if the key is needed as well.
+	 *
+	 * @return the element with the maximum key
+	 */
+	public E extractMaximum() {
+		if (isEmpty()) {
+			return null;
+		}
+		E maximum = elements == null ? null : (E) elements[0];
+		heapSize--;
+		long lastKey = keys[heapSize];
+		E lastElement = null;
+		if (elements != null) {
+			lastElement = (E) elements[heapSize];
+			elements[heapSize] = null;
+		}
+		if (heapSize > 0) {
+			heapDown(0, lastKey, lastElement);
+		}
+		if (keys.length > minimumCapacity && heapSize < keys.length * BinaryHeap.DEFAULT_SHRINK_THRESHOLD) {
+			setCapacity(Math.max(minimumCapacity, keys.length / 2));
+		}
+		return maximum;
+	}
+
+	/**
+	 * Sets the key at the specified index to a new, larger key and moves the
+	 * entry up to its correct position.
+	 *
+	 * @param index
+	 * @param key
+	 */
+	public void increaseKey(int index, long key) {
+		checkIndex(index);
+		if (key < keys[index]) {
+			throw new IllegalArgumentException("The new key " + key + " is smaller than the current key " + keys[index]);
+		}
+		heapUp(index, key, elements == null ? null : (E) elements[index]);
+	}
+
+	/**
+	 * Clears the entire heap.
+	 */
+	public void clear() {
+		if (elements != null) {
+			Arrays.fill(elements, 0, heapSize, null);
+		}
+		heapSize = 0;
+	}
+
+	/**
+	 * Checks if a certain key exists in the heap.
+	 *
+	 * @param key
+	 * @return true if the key is in the heap, false otherwise
+	 */
+	public boolean containsKey(long key) {
+		for (int i = 0; i < heapSize; i++) {
+			if (keys[i] == key) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if a certain element exists in the heap.
+	 *
+	 * @param value
+	 * @return true if the element is in the heap, false otherwise
+	 */
+	public boolean contains(E value) {
+		if (elements == null) {
+			return false;
+		}
+		for (int i = 0; i < heapSize; i++) {
+			if (value == null ? elements[i] == null : value.equals(elements[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Places the entry (key, element) at index i after moving every smaller
+	 * ancestor one level down.
+	 *
+	 * @param i
+	 * @param key
+	 * @param element
+	 */
+	private void heapUp(int i, long key, E element) {
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (keys[parent] >= key) {
+				break;
+			}
+			move(parent, i);
+			i = parent;
+		}
+		set(i, key, element);
+	}
+
+	/**
+	 * Places the entry (key, element) in the subtree rooted at index i after
+	 * moving every larger child one level up.
+	 *
+	 * @param i
+	 * @param key
+	 * @param element
+	 */
+	private void heapDown(int i, long key, E element) {
+		int half = heapSize >>> 1;
+		while (i < half) {
+			int child = 2 * i + 1;
+			int right = child + 1;
+			if (right < heapSize && keys[right] > keys[child]) {
+				child = right;
+			}
+			if (key >= keys[child]) {
+				break;
+			}
+			move(child, i);
+			i = child;
+		}
+		set(i, key, element);
+	}
+
+	private void move(int from, int to) {
+		keys[to] = keys[from];
+		if (elements != null) {
+			elements[to] = elements[from];
+		}
+	}
+
+	private void set(int i, long key, E element) {
+		keys[i] = key;
+		if (elements != null) {
+			elements[i] = element;
+		}
+	}
+
+	private void checkIndex(int i) {
+		if (i < 0 || i >= heapSize) {
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + heapSize);
+		}
+	}
+
+	/**
+	 * Returns a String representation of the keys in the heap.
+	 *
+	 * @return a String representation of the keys in the heap
+	 */
+	public String toString() {
+		return Arrays.toString(Arrays.copyOf(keys, heapSize));
+	}
+}
@@ -0,0 +1,155 @@
+import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * LongKeyHeapTest is a JUnit testing class to test the functionality of the
+ * heap keyed by primitive longs.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class LongKeyHeapTest {
+    protected LongKeyHeap<String> emptyHeap;
+    protected LongKeyHeap<String> heap;
+
+    @Before
+    public void init() {
+        emptyHeap = new LongKeyHeap<String>(4);
+        heap = new LongKeyHeap<String>(4);
+        heap.insert(2, "two");
+        heap.insert(1, "one");
+        heap.insert(3, "three");
+        heap.insert(10, "ten");
+        heap.insert(15, "fifteen");
+        heap.insert(8, "eight");
+    }
+
+    @Test
+    public void maximumTest() {
+        assertNull(emptyHeap.maximum());
+        assertEquals(15L, heap.maximumKey());
+        assertEquals("fifteen", heap.maximum());
+        // maximum does not remove anything
+        assertEquals(6, heap.size());
+        assertEquals("[15, 10, 8, 1, 3, 2]", heap.toString());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void maximumKeyOfEmptyHeapTest() {
+        emptyHeap.maximumKey();
+    }
+
+    @Test
+    public void extractMaximumTest() {
+        assertNull(emptyHeap.extractMaximum());
+        String[] expected = { "fifteen", "ten", "eight", "three", "two", "one" };
+        for (String element : expected) {
+            assertEquals(element, heap.extractMaximum());
+        }
+        assertTrue(heap.isEmpty());
+        assertNull(heap.extractMaximum());
+    }
+
+    @Test
+    public void growthTest() {
+        assertEquals(4, emptyHeap.capacity());
+        for (long key = 0; key < 1000; key++) {
+            emptyHeap.insert(key, "key " + key);
+        }
+        assertEquals(1000, emptyHeap.size());
+        assertTrue(emptyHeap.capacity() >= 1000);
+        for (long key = 999; key >= 0; key--) {
+            assertEquals(key, emptyHeap.maximumKey());
+            assertEquals("key " + key, emptyHeap.extractMaximum());
+        }
+        // the heap shrinks when drained, but never below its initial capacity
+        assertEquals(4, emptyHeap.capacity());
+        emptyHeap.insert(5, "five");
+        emptyHeap.trimToSize();
+        assertEquals(1, emptyHeap.capacity());
+        emptyHeap.insert(6, "six");
+        assertEquals("six", emptyHeap.extractMaximum());
+    }
+
+    @Test
+    public void tiesTest() {
+        // equal keys come out together, whatever their elements
+        emptyHeap.insert(7, "a");
+        emptyHeap.insert(9, "b");
+        emptyHeap.insert(7, "c");
+        emptyHeap.insert(7, "d");
+        assertEquals("b", emptyHeap.extractMaximum());
+        String[] ties = new String[3];
+        for (int i = 0; i < 3; i++) {
+            assertEquals(7L, emptyHeap.maximumKey());
+            ties[i] = emptyHeap.extractMaximum();
+        }
+        Arrays.sort(ties);
+        assertArrayEquals(new Object[] { "a", "c", "d" }, ties);
+        assertTrue(emptyHeap.isEmpty());
+    }
+
+    @Test
+    public void keysOnlyTest() {
+        LongKeyHeap<Object> keys = new LongKeyHeap<Object>(2);
+        keys.insert(Long.MIN_VALUE);
+        keys.insert(Long.MAX_VALUE);
+        keys.insert(0);
+        assertNull(keys.maximum());
+        assertFalse(keys.contains("anything"));
+        assertTrue(keys.containsKey(0));
+        assertFalse(keys.containsKey(1));
+        assertEquals(Long.MAX_VALUE, keys.maximumKey());
+        keys.extractMaximum();
+        assertEquals(0L, keys.maximumKey());
+        keys.extractMaximum();
+        assertEquals(Long.MIN_VALUE, keys.maximumKey());
+    }
+
+    @Test
+    public void increaseKeyTest() {
+        heap.increaseKey(5, 20);
+        assertEquals(20L, heap.maximumKey());
+        assertEquals("two", heap.maximum());
+        assertTrue(heap.contains("two"));
+        assertTrue(heap.containsKey(20));
+        assertFalse(heap.containsKey(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void increaseKeyWithSmallerKeyTest() {
+        heap.increaseKey(0, 1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void increaseKeyOutOfBoundsTest() {
+        heap.increaseKey(6, 100);
+    }
+
+    @Test
+    public void randomOrderTest() {
+        Random random = new Random(42);
+        long[] keys = new long[5000];
+        LongKeyHeap<Long> sorted = new LongKeyHeap<Long>(1);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+            sorted.insert(keys[i], keys[i]);
+        }
+        Arrays.sort(keys);
+        for (int i = keys.length - 1; i >= 0; i--) {
+            assertEquals(keys[i], sorted.maximumKey());
+            assertEquals(keys[i], (long) sorted.extractMaximum());
+        }
+    }
+
+    @Test
+    public void clearTest() {
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains("ten"));
+        assertEquals("[]", heap.toString());
+    }
+}
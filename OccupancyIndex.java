@@ -0,0 +1,212 @@
+import java.util.BitSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * OccupancyIndex records which slide times are taken, and by how many slides,
+ * so questions about times are answered without looking at the heap:
+ * whether a time is taken, the next free time at or after a time, and how many
+ * slides lie in a range of times.
+ *
+ * Times in [0, DENSE_LIMIT), e.g. the first hours of a show in milliseconds,
+ * are kept in a BitSet, which answers isTaken in O(1) and finds the next free
+ * time a word (64 times) at a time. Other times are kept in a sorted map. A
+ * time taken by more than one slide also has an entry in a sorted map of
+ * duplicates.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class OccupancyIndex {
+
+	/** Times from 0 up to this limit are kept in the BitSet **/
+	public static final long DENSE_LIMIT = 1L << 24;
+
+	// the taken times below DENSE_LIMIT
+	private final BitSet dense = new BitSet();
+	// the number of slides at each taken time outside the dense range
+	private final TreeMap<Long, Integer> sparse = new TreeMap<Long, Integer>();
+	// the number of extra slides at each dense time taken by more than one slide
+	private final TreeMap<Long, Integer> duplicates = new TreeMap<Long, Integer>();
+	private int size;
+
+	/**
+	 * Records a slide at the given time.
+	 *
+	 * @param time
+	 */
+	public void add(long time) {
+		if (isDense(time)) {
+			if (dense.get((int) time)) {
+				duplicates.merge(time, 1, Integer::sum);
+			} else {
+				dense.set((int) time);
+			}
+		} else {
+			sparse.merge(time, 1, Integer::sum);
+		}
+		size++;
+	}
+
+	/**
+	 * Records all the slides of another index.
+	 *
+	 * @param other
+	 */
+	public void addAll(OccupancyIndex other) {
+		for (int time = other.dense.nextSetBit(0); time >= 0; time = other.dense.nextSetBit(time + 1)) {
+			add(time);
+		}
+		for (Map.Entry<Long, Integer> entry : other.duplicates.entrySet()) {
+			addCount(entry.getKey(), entry.getValue());
+		}
+		for (Map.Entry<Long, Integer> entry : other.sparse.entrySet()) {
+			addCount(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Removes a slide at the given time.
+	 *
+	 * @param time
+	 * @throws IllegalArgumentException if no slide is recorded at the time
+	 */
+	public void remove(long time) {
+		if (isDense(time)) {
+			if (!dense.get((int) time)) {
+				throw new IllegalArgumentException("No slide at time " + time);
+			}
+			if (!decrement(duplicates, time)) {
+				dense.clear((int) time);
+			}
+		} else if (!decrement(sparse, time)) {
+			throw new IllegalArgumentException("No slide at time " + time);
+		}
+		size--;
+	}
+
+	/**
+	 * Returns true if a slide is recorded at the given time.
+	 *
+	 * @param time
+	 * @return true if the time is taken
+	 */
+	public boolean isTaken(long time) {
+		return isDense(time) ? dense.get((int) time) : sparse.containsKey(time);
+	}
+
+	/**
+	 * Returns the smallest time at or after the given time that is not taken.
+	 * Dense times are scanned a word at a time; other times are walked one by one
+	 * along the run of consecutive taken times, so this takes O(log n + r) for a
+	 * run of r taken times outside the dense range.
+	 *
+	 * @param time
+	 * @return the next free time
+	 * @throws IllegalStateException if every time from the given time up to
+	 *                               Long.MAX_VALUE is taken
+	 */
+	public long nextFree(long time) {
+		if (isDense(time)) {
+			long free = dense.nextClearBit((int) time);
+			if (free < DENSE_LIMIT) {
+				return free;
+			}
+			time = DENSE_LIMIT;
+		}
+		// walks the run of consecutive taken times starting at time
+		for (long taken : sparse.tailMap(time).keySet()) {
+			if (taken != time) {
+				break;
+			}
+			if (time == Long.MAX_VALUE) {
+				throw new IllegalStateException("Every time up to Long.MAX_VALUE is taken.");
+			}
+			time++;
+			if (time == 0) {
+				// a run of negative times continues into the dense range
+				return nextFree(0);
+			}
+		}
+		return time;
+	}
+
+	/**
+	 * Returns the number of slides whose time is in [from, to). The taken dense
+	 * times in the range are counted one by one, without copying the BitSet.
+	 *
+	 * @param from
+	 * @param to
+	 * @return the number of slides in the range
+	 */
+	public int slidesIn(long from, long to) {
+		if (from >= to) {
+			return 0;
+		}
+		int count = 0;
+		long denseFrom = Math.max(from, 0);
+		long denseTo = Math.min(to, DENSE_LIMIT);
+		if (denseFrom < denseTo) {
+			// counts in place; BitSet.get(from, to) would copy the range
+			for (int time = dense.nextSetBit((int) denseFrom); time >= 0 && time < denseTo; time = dense.nextSetBit(time + 1)) {
+				count++;
+			}
+			count += sum(duplicates.subMap(denseFrom, denseTo));
+		}
+		count += sum(sparse.subMap(from, to));
+		return count;
+	}
+
+	/**
+	 * Returns the number of slides recorded.
+	 *
+	 * @return the number of slides
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Removes all the times.
+	 */
+	public void clear() {
+		dense.clear();
+		sparse.clear();
+		duplicates.clear();
+		size = 0;
+	}
+
+	private void addCount(long time, int count) {
+		for (int i = 0; i < count; i++) {
+			add(time);
+		}
+	}
+
+	private static boolean isDense(long time) {
+		return time >= 0 && time < DENSE_LIMIT;
+	}
+
+	/**
+	 * Decrements the count of a time in a map, removing it at 0. Returns false if
+	 * the time is not in the map.
+	 */
+	private static boolean decrement(TreeMap<Long, Integer> counts, long time) {
+		Integer count = counts.get(time);
+		if (count == null) {
+			return false;
+		}
+		if (count == 1) {
+			counts.remove(time);
+		} else {
+			counts.put(time, count - 1);
+		}
+		return true;
+	}
+
+	private static int sum(Map<Long, Integer> counts) {
+		int sum = 0;
+		for (int count : counts.values()) {
+			sum += count;
+		}
+		return sum;
+	}
+}
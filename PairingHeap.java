@@ -0,0 +1,235 @@
+/**
+ * PairingHeap is a max pairing heap that implements the BasicPriorityQueue
+ * interface. The heap is a tree of nodes in which every node is larger than or
+ * equal to its children:
+ * <ul>
+ * <li>insert and meld link two trees by making the smaller root the first
+ * child of the larger one, in O(1);</li>
+ * <li>extractMaximum removes the root and links its children in two passes
+ * (pairs from left to right, then the pairs from right to left), in O(log n)
+ * amortized;</li>
+ * <li>increaseValue cuts the node out of its parent and links it with the
+ * root, in O(1) plus the amortized cost it adds to later extractions.</li>
+ * </ul>
+ * Nodes are not stored in an array, so there are no indices and no resizing,
+ * and the heap does not offer the increaseValue by index of PriorityQueue.
+ * insertNode returns the node of an element, which is used as a handle to
+ * increase its value later.
+ *
+ * @author Xueying Xu (Shirley)
+ * @param <T>
+ */
+public class PairingHeap<T extends Comparable<T>> implements BasicPriorityQueue<T> {
+
+	private Node<T> root;
+	private int size;
+
+	/**
+	 * Node holds an element of the heap. The first child of a node points back
+	 * to its parent through prev, every other child to its left sibling.
+	 *
+	 * @param <T>
+	 */
+	public static final class Node<T> {
+		private T element;
+		private Node<T> child;
+		private Node<T> sibling;
+		private Node<T> prev;
+		private boolean removed;
+
+		private Node(T element) {
+			this.element = element;
+		}
+
+		/**
+		 * Returns the element of the node.
+		 *
+		 * @return the element of the node
+		 */
+		public T getElement() {
+			return element;
+		}
+	}
+
+	/**
+	 * Inserts a new element in the priority queue.
+	 *
+	 * @param element
+	 */
+	public void insert(T element) {
+		insertNode(element);
+	}
+
+	/**
+	 * Inserts a new element in the priority queue and returns its node, which
+	 * can be passed to increaseValue while the element is in the queue.
+	 *
+	 * @param element
+	 * @return the node of the element
+	 */
+	public Node<T> insertNode(T element) {
+		Node<T> node = new Node<T>(element);
+		root = root == null ? node : link(root, node);
+		size++;
+		return node;
+	}
+
+	/**
+	 * Moves all the elements of another pairing heap into this one in O(1). The
+	 * other heap is empty afterwards; the nodes of its elements stay valid.
+	 *
+	 * @param other
+	 */
+	public void meld(PairingHeap<T> other) {
+		if (other == this || other.root == null) {
+			return;
+		}
+		root = root == null ? other.root : link(root, other.root);
+		size += other.size;
+		other.root = null;
+		other.size = 0;
+	}
+
+	/**
+	 * Returns (Peeks) the element with the highest priority.
+	 *
+	 * @return the element with the highest priority, or null if empty
+	 */
+	public T maximum() {
+		return root == null ? null : root.element;
+	}
+
+	/**
+	 * Removes and returns the element with the highest priority.
+	 *
+	 * @return the element with the highest priority, or null if empty
+	 */
+	public T extractMaximum() {
+		if (root == null) {
+			return null;
+		}
+		Node<T> maximum = root;
+		root = mergePairs(maximum.child);
+		maximum.child = null;
+		maximum.removed = true;
+		size--;
+		return maximum.element;
+	}
+
+	/**
+	 * Sets the element of a node to a new element that is greater than or equal
+	 * to the original element, and moves the node up to its correct position.
+	 *
+	 * @param node
+	 * @param element
+	 */
+	public void increaseValue(Node<T> node, T element) {
+		if (node.removed) {
+			throw new IllegalArgumentException("The node is no longer in the heap.");
+		}
+		if (element.compareTo(node.element) < 0) {
+			throw new IllegalArgumentException("The value of the new element is smaller than the value of the original element.");
+		}
+		node.element = element;
+		if (node == root || node.prev == null) {
+			return;
+		}
+		// cut the subtree of the node out of its parent and link it with the root
+		if (node.prev.child == node) {
+			node.prev.child = node.sibling;
+		} else {
+			node.prev.sibling = node.sibling;
+		}
+		if (node.sibling != null) {
+			node.sibling.prev = node.prev;
+		}
+		node.prev = null;
+		node.sibling = null;
+		root = link(root, node);
+	}
+
+	/**
+	 * Removes all the elements. Their nodes must not be used afterwards.
+	 */
+	public void clear() {
+		root = null;
+		size = 0;
+	}
+
+	/**
+	 * Returns true if the priority queue has no elements; false otherwise.
+	 *
+	 * @return true if the priority queue has no elements
+	 */
+	public boolean isEmpty() {
+		return root == null;
+	}
+
+	/**
+	 * Returns the number of elements stored in the priority queue.
+	 *
+	 * @return the number of elements stored in the priority queue
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Makes the root with the smaller element the first child of the other one
+	 * and returns the new root.
+	 */
+	private Node<T> link(Node<T> a, Node<T> b) {
+		if (b.element.compareTo(a.element) > 0) {
+			Node<T> temp = a;
+			a = b;
+			b = temp;
+		}
+		b.sibling = a.child;
+		if (a.child != null) {
+			a.child.prev = b;
+		}
+		b.prev = a;
+		a.child = b;
+		return a;
+	}
+
+	/**
+	 * Links a list of siblings into one tree with the two-pass method and returns
+	 * its root. Runs without recursion so long lists cannot overflow the stack.
+	 */
+	private Node<T> mergePairs(Node<T> first) {
+		if (first == null) {
+			return null;
+		}
+		// first pass: link pairs from left to right, keeping the results in a
+		// list in reverse order
+		Node<T> pairs = null;
+		while (first != null) {
+			Node<T> a = first;
+			Node<T> b = a.sibling;
+			a.prev = null;
+			a.sibling = null;
+			if (b == null) {
+				first = null;
+			} else {
+				first = b.sibling;
+				b.prev = null;
+				b.sibling = null;
+				a = link(a, b);
+			}
+			a.sibling = pairs;
+			pairs = a;
+		}
+		// second pass: link the pairs from right to left
+		Node<T> result = pairs;
+		pairs = pairs.sibling;
+		result.sibling = null;
+		while (pairs != null) {
+			Node<T> next = pairs.sibling;
+			pairs.sibling = null;
+			result = link(result, pairs);
+			pairs = next;
+		}
+		return result;
+	}
+}
@@ -0,0 +1,126 @@
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * PairingHeapTest is a JUnit testing class to test the pairing heap priority
+ * queue with the same cases as PriorityQueueBHTest, plus meld and handles.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class PairingHeapTest {
+    protected PairingHeap<Integer> emptyPQ;
+    protected PairingHeap<Integer> pq1;
+    protected PairingHeap<Integer> pq2;
+    protected PairingHeap<Integer> pq3;
+
+    @Before
+    public void init() {
+        emptyPQ = new PairingHeap<Integer>();
+        pq1 = create(6);
+        pq2 = create(7, 9);
+        pq3 = create(2, 1, 3, 10, 15, 8);
+    }
+
+    private static PairingHeap<Integer> create(int... values) {
+        PairingHeap<Integer> pq = new PairingHeap<Integer>();
+        for (int value : values) {
+            pq.insert(value);
+        }
+        return pq;
+    }
+
+    @Test
+    public void maximumTest() {
+        assertEquals("test maximum", null, emptyPQ.maximum());
+        assertEquals("test maximum", 6, (int) pq1.maximum());
+        assertEquals("test maximum", 9, (int) pq2.maximum());
+        assertEquals("test maximum", 15, (int) pq3.maximum());
+        // maximum() does not remove anything
+        assertEquals("test maximum", 15, (int) pq3.maximum());
+        assertEquals(6, pq3.getSize());
+    }
+
+    @Test
+    public void extractMaxTest() {
+        assertEquals("test extractMax", null, emptyPQ.extractMaximum());
+        assertEquals("test extractMax", 6, (int) pq1.extractMaximum());
+        assertEquals("test extractMax", 9, (int) pq2.extractMaximum());
+        assertEquals("test extractMax", 15, (int) pq3.extractMaximum());
+        assertEquals("test extractMax", null, pq1.extractMaximum());
+        assertEquals("test extractMax", 7, (int) pq2.extractMaximum());
+        assertEquals("test extractMax", 10, (int) pq3.extractMaximum());
+    }
+
+    @Test
+    public void insertTest() {
+        emptyPQ.insert(72);
+        assertEquals(72, (int) emptyPQ.extractMaximum());
+        assertTrue(emptyPQ.isEmpty());
+        pq3.insert(11);
+        pq3.insert(-1);
+        pq3.insert(30);
+        int[] expected = {30, 15, 11, 10, 8, 3, 2, 1, -1};
+        for (int value : expected) {
+            assertEquals(value, (int) pq3.extractMaximum());
+        }
+        assertNull(pq3.extractMaximum());
+    }
+
+    @Test
+    public void increaseValueTest() {
+        PairingHeap<Integer> pq = new PairingHeap<Integer>();
+        PairingHeap.Node<Integer> one = pq.insertNode(1);
+        PairingHeap.Node<Integer> five = pq.insertNode(5);
+        pq.insert(3);
+        pq.insert(4);
+        assertEquals(5, (int) pq.extractMaximum());
+        pq.increaseValue(one, 27);
+        assertEquals(27, (int) pq.maximum());
+        assertEquals(27, (int) one.getElement());
+        int[] expected = {27, 4, 3};
+        for (int value : expected) {
+            assertEquals(value, (int) pq.extractMaximum());
+        }
+        try {
+            pq.increaseValue(five, 30);
+            fail("a removed node was accepted");
+        } catch (IllegalArgumentException expectedException) {
+            // the node of 5 was extracted
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decreaseValueTest() {
+        PairingHeap<Integer> pq = new PairingHeap<Integer>();
+        PairingHeap.Node<Integer> node = pq.insertNode(5);
+        pq.increaseValue(node, 4);
+    }
+
+    @Test
+    public void meldTest() {
+        pq2.meld(pq3);
+        assertEquals(8, pq2.getSize());
+        assertTrue(pq3.isEmpty());
+        int[] expected = {15, 10, 9, 8, 7, 3, 2, 1};
+        for (int value : expected) {
+            assertEquals(value, (int) pq2.extractMaximum());
+        }
+    }
+
+    @Test
+    public void extractInOrderTest() {
+        PairingHeap<Integer> pq = new PairingHeap<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            pq.insert((i * 37) % 1009);
+        }
+        int previous = Integer.MAX_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            int value = pq.extractMaximum();
+            assertTrue(value <= previous);
+            previous = value;
+        }
+        assertEquals(0, pq.getSize());
+    }
+}
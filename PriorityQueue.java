@@ -1,32 +1,13 @@
 /**
  * This is an interface for the Priority Queue data structure. Priority Queue
  * represents a set of elements with keys whose values indicate a priority.
+ * Besides the operations of BasicPriorityQueue, it can increase the value of
+ * the element at an index.
  * 
  * @author Xueying Xu (Shirley)
  * @param <T>
  */
-public interface PriorityQueue<T extends Comparable<T>> {
-
-	/**
-	 * Inserts a new element in the priority queue.
-	 * 
-	 * @param element
-	 */
-	public void insert(T element);
-
-	/**
-	 * Returns the element with the highest priority.
-	 * 
-	 * @return the element with the highest priority
-	 */
-	public T maximum();
-
-	/**
-	 * Removes and returns the element with the highest priority.
-	 * 
-	 * @return the element with the highest priority
-	 */
-	public T extractMaximum();
+public interface PriorityQueue<T extends Comparable<T>> extends BasicPriorityQueue<T> {
 
 	/**
 	 * Sets the element at specified index to a new element. Fixes heap through
@@ -1,3 +1,10 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * PriorityQueueBH is BinaryHeap that implements PriorityQueue interface.
  * 
@@ -7,6 +14,9 @@
 public class PriorityQueueBH<T extends Comparable<T>> implements PriorityQueue<T> {
 
 	protected BinaryHeap pqHeap;
+	// all the elements in priority order, valid while the heap has sortedModCount changes
+	private List<T> sorted;
+	private int sortedModCount;
 
 	/**
 	 * Creates an empty priority queue with the specified capacity.
@@ -17,6 +27,19 @@ public class PriorityQueueBH<T extends Comparable<T>> implements PriorityQueue<T
 		pqHeap = new BinaryHeap(capacity);
 	}
 
+	/**
+	 * Creates an empty priority queue with the specified capacity whose
+	 * priorities are given by a comparator instead of compareTo: the element the
+	 * comparator ranks highest comes first. For example, with
+	 * Collections.reverseOrder() the smallest element comes first.
+	 * 
+	 * @param capacity
+	 * @param comparator
+	 */
+	public PriorityQueueBH(int capacity, Comparator<? super T> comparator) {
+		pqHeap = new BinaryHeap<T>(capacity, comparator);
+	}
+
 	/**
 	 * Creates a priority queue with the given array.
 	 * 
@@ -26,6 +49,26 @@ public class PriorityQueueBH<T extends Comparable<T>> implements PriorityQueue<T
 		pqHeap = new BinaryHeap(array);
 	}
 
+	/**
+	 * Creates a priority queue backed by the given heap.
+	 * 
+	 * @param heap
+	 */
+	private PriorityQueueBH(BinaryHeap<T> heap) {
+		pqHeap = heap;
+	}
+
+	/**
+	 * Creates a priority queue from an array that already satisfies the heap
+	 * property, without rearranging it.
+	 * 
+	 * @param array
+	 * @return a priority queue backed by array
+	 */
+	public static <T extends Comparable<T>> PriorityQueueBH<T> fromHeapOrdered(Comparable[] array) {
+		return new PriorityQueueBH<T>(BinaryHeap.<T>fromHeapOrdered(array));
+	}
+
 	/**
 	 * Inserts a new element in the priority queue.
 	 * 
@@ -34,23 +77,120 @@ public class PriorityQueueBH<T extends Comparable<T>> implements PriorityQueue<T
 	public void insert(T element) {
 
 		// increase the capacity of the priority queue if needed
-		if (pqHeap.size() >= pqHeap.capacity()) {
-			pqHeap.setCapacity(pqHeap.capacity() + 1);
-			pqHeap.addElement(element);
-		} else {
-			pqHeap.addElement(element);
-		}
+		pqHeap.ensureCapacity(pqHeap.size() + 1);
+		pqHeap.addElement(element);
+	}
+
+	/**
+	 * Inserts all the elements of a collection in the priority queue. Large
+	 * batches are appended and heapified in linear time.
+	 * 
+	 * @param elements
+	 */
+	public void insertAll(Collection<? extends T> elements) {
+		Comparable[] array = elements.toArray(new Comparable[elements.size()]);
+		pqHeap.addAll(array, 0, array.length);
+	}
+
+	/**
+	 * Inserts all the elements of an array in the priority queue. Large batches
+	 * are appended and heapified in linear time.
+	 * 
+	 * @param elements
+	 */
+	public void insertAll(T[] elements) {
+		pqHeap.addAll(elements, 0, elements.length);
+	}
+
+	/**
+	 * Inserts all the elements of another priority queue in this priority queue
+	 * in linear time. The other priority queue is not modified.
+	 * 
+	 * @param other
+	 */
+	public void mergeFrom(PriorityQueueBH<T> other) {
+		pqHeap.addAll(other.pqHeap);
 	}
 
 	/**
 	 * Returns (Peeks) the element with the highest priority.
 	 * 
-	 * @return the element with the highest priority
+	 * @return the element with the highest priority, or null if empty
 	 */
 	public T maximum() {
+		if (pqHeap.isEmpty()) {
+			return null;
+		}
 		return (T) pqHeap.getElement(0);
 	}
 
+	/**
+	 * Returns (Peeks) the k elements with the highest priority, in priority order,
+	 * without removing them. Takes O(k log k), or O(k) if the sorted view is up
+	 * to date.
+	 * 
+	 * @param k
+	 * @return up to k elements with the highest priority
+	 */
+	public List<T> peekFirst(int k) {
+		int size = Math.min(k, getSize());
+		if (sorted != null && sortedModCount == pqHeap.getModCount()) {
+			return new ArrayList<T>(sorted.subList(0, size));
+		}
+		List<T> first = new ArrayList<T>(size);
+		Iterator<T> elements = sortedIterator();
+		while (first.size() < size) {
+			first.add(elements.next());
+		}
+		return first;
+	}
+
+	/**
+	 * Returns an iterator over the elements in priority order that leaves the
+	 * priority queue unchanged. Returning the first k elements takes O(k log k).
+	 * The iterator fails with a ConcurrentModificationException if the priority
+	 * queue is modified while it is used.
+	 * 
+	 * @return an iterator over the elements in priority order
+	 */
+	public Iterator<T> sortedIterator() {
+		return pqHeap.sortedIterator();
+	}
+
+	/**
+	 * Returns all the elements in priority order as a read-only list. The list is
+	 * computed once in O(n log n) and cached until the priority queue is
+	 * modified, so repeated previews of an unchanged queue cost nothing. The list
+	 * does not follow later changes of the priority queue.
+	 * 
+	 * @return the elements in priority order
+	 */
+	public List<T> sortedView() {
+		if (sorted == null || sortedModCount != pqHeap.getModCount()) {
+			int modCount = pqHeap.getModCount();
+			List<T> all = new ArrayList<T>(getSize());
+			Iterator<T> elements = sortedIterator();
+			while (elements.hasNext()) {
+				all.add(elements.next());
+			}
+			sorted = Collections.unmodifiableList(all);
+			sortedModCount = modCount;
+		}
+		return sorted;
+	}
+
+	/**
+	 * Returns a copy of the priority queue. The elements are copied in heap order
+	 * in O(n), without rebuilding the heap; the elements themselves are shared.
+	 * 
+	 * @return a copy of the priority queue
+	 */
+	public PriorityQueueBH<T> copy() {
+		PriorityQueueBH<T> copy = new PriorityQueueBH<T>(Math.max(1, getSize()), pqHeap.getComparator());
+		copy.mergeFrom(this);
+		return copy;
+	}
+
 	/**
 	 * Removes and returns the element with the highest priority.
 	 * 
@@ -73,6 +213,14 @@ public class PriorityQueueBH<T extends Comparable<T>> implements PriorityQueue<T
 		pqHeap.increaseValue(index, element);
 	}
 
+	/**
+	 * Trims the capacity of the priority queue to the number of elements stored,
+	 * e.g. to release memory once a slide show has finished.
+	 */
+	public void trimToSize() {
+		pqHeap.trimToSize();
+	}
+
 	/**
 	 * Returns a String representation of the priority queue. Used for testing.
 	 * 
@@ -1,4 +1,9 @@
 import static org.junit.Assert.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -152,13 +157,146 @@ public class PriorityQueueBHTest {
         pq2.insert(3);
         assertEquals("[12, 7, 9, 3]", pq2.toString());
         pq2.insert(8);
-        assertEquals("[12, 8, 9, 3, 7]", pq2.toString());
+        assertEquals("[12, 8, 9, 3, 7, null]", pq2.toString());
         
         pq3.insert(11);
-        assertEquals("[15, 10, 11, 2, 1, 3, 8]", pq3.toString());
+        assertEquals("[15, 10, 11, 2, 1, 3, 8, null, null]", pq3.toString());
         pq3.insert(-1);
-        assertEquals("[15, 10, 11, 2, 1, 3, 8, -1]", pq3.toString());
+        assertEquals("[15, 10, 11, 2, 1, 3, 8, -1, null]", pq3.toString());
         pq3.insert(30);
         assertEquals("[30, 15, 11, 10, 1, 3, 8, -1, 2]", pq3.toString());  
     }
+    
+    @Test
+    public void growAndShrinkTest() {
+        PriorityQueueBH<Integer> pq = new PriorityQueueBH<Integer>(2);
+        for (int i = 1; i <= 20; i++) {
+            pq.insert(i);
+        }
+        // the capacity grows geometrically (2, 3, 4, 6, 9, 13, 19, 28)
+        assertEquals(28, pq.pqHeap.capacity());
+        for (int i = 20; i > 1; i--) {
+            assertEquals(i, (int) pq.extractMaximum());
+        }
+        // halved whenever the size drops below a quarter of the capacity (28, 14, 7, 3)
+        assertEquals(3, pq.pqHeap.capacity());
+        assertEquals("[1, null, null]", pq.toString());
+        pq.trimToSize();
+        assertEquals("[1]", pq.toString());
+    }
+
+    @Test
+    public void trimEmptyTest() {
+        PriorityQueueBH<Integer> pq = new PriorityQueueBH<Integer>(4);
+        pq.trimToSize();
+        assertEquals(0, pq.pqHeap.capacity());
+        assertNull(pq.maximum());
+        assertNull(pq.extractMaximum());
+        // the trimmed queue grows again
+        pq.insert(3);
+        pq.insert(5);
+        assertEquals(5, (int) pq.maximum());
+    }
+    
+    @Test
+    public void insertAllTest() {
+        PriorityQueueBH<Integer> pq = (PriorityQueueBH<Integer>) pq3;
+        // a small batch is moved up element by element
+        pq.insertAll(Arrays.asList(11));
+        assertEquals("[15, 10, 11, 2, 1, 3, 8, null, null]", pq.toString());
+        // a large batch is appended and the whole heap is rebuilt
+        pq.insertAll(new Integer[]{4, 20, 6, 9, 13});
+        assertEquals(12, pq.getSize());
+        int[] expected = {20, 15, 13, 11, 10, 9, 8, 6, 4, 3, 2, 1};
+        for (int value : expected) {
+            assertEquals(value, (int) pq.extractMaximum());
+        }
+        assertEquals(null, pq.extractMaximum());
+    }
+    
+    @Test
+    public void mergeFromTest() {
+        PriorityQueueBH<Integer> merged = (PriorityQueueBH<Integer>) pq2;
+        merged.mergeFrom((PriorityQueueBH<Integer>) pq3);
+        assertEquals(8, merged.getSize());
+        // the other priority queue is unchanged
+        assertEquals("[15, 10, 8, 2, 1, 3]", pq3.toString());
+        int[] expected = {15, 10, 9, 8, 7, 3, 2, 1};
+        for (int value : expected) {
+            assertEquals(value, (int) merged.extractMaximum());
+        }
+    }
+    
+    @Test
+    public void sortedIteratorTest() {
+        PriorityQueueBH<Integer> pq = (PriorityQueueBH<Integer>) pq3;
+        Iterator<Integer> sorted = pq.sortedIterator();
+        int[] expected = {15, 10, 8, 3, 2, 1};
+        for (int value : expected) {
+            assertTrue(sorted.hasNext());
+            assertEquals(value, (int) sorted.next());
+        }
+        assertFalse(sorted.hasNext());
+        // the heap is unchanged
+        assertEquals("[15, 10, 8, 2, 1, 3]", pq.toString());
+        assertEquals(Arrays.asList(15, 10, 8), pq.peekFirst(3));
+    }
+    
+    @Test(expected = ConcurrentModificationException.class)
+    public void sortedIteratorModifiedTest() {
+        Iterator<Integer> sorted = ((PriorityQueueBH<Integer>) pq3).sortedIterator();
+        sorted.next();
+        pq3.insert(4);
+        sorted.next();
+    }
+    
+    @Test
+    public void sortedViewTest() {
+        PriorityQueueBH<Integer> pq = (PriorityQueueBH<Integer>) pq3;
+        List<Integer> view = pq.sortedView();
+        assertEquals(Arrays.asList(15, 10, 8, 3, 2, 1), view);
+        // cached until the priority queue changes
+        assertSame(view, pq.sortedView());
+        pq.extractMaximum();
+        assertEquals(Arrays.asList(10, 8, 3, 2, 1), pq.sortedView());
+    }
+    
+    @Test
+    public void copyTest() {
+        PriorityQueueBH<Integer> pq = (PriorityQueueBH<Integer>) pq3;
+        PriorityQueueBH<Integer> copy = pq.copy();
+        // copied in heap order
+        assertEquals("[15, 10, 8, 2, 1, 3]", copy.toString());
+        while (copy.getSize() > 0) {
+            copy.extractMaximum();
+        }
+        assertEquals(6, pq.getSize());
+    }
+    
+    @Test
+    public void comparatorTest() {
+        PriorityQueueBH<Integer> minFirst = new PriorityQueueBH<Integer>(2, Collections.<Integer>reverseOrder());
+        minFirst.insertAll(array3);
+        assertEquals(Arrays.asList(1, 2, 3), minFirst.peekFirst(3));
+        // the copy keeps the order
+        PriorityQueueBH<Integer> copy = minFirst.copy();
+        assertEquals(1, (int) copy.extractMaximum());
+        copy.insert(0);
+        assertEquals(0, (int) copy.maximum());
+    }
+    
+    @Test
+    public void equalSlideTimesTest() {
+        PriorityQueueBH<Slide> slides = new PriorityQueueBH<Slide>(4);
+        String[] texts = {"a", "b", "c", "d", "e", "f"};
+        for (String text : texts) {
+            slides.insert(new Slide(text, 5));
+        }
+        slides.insert(new Slide("first", 1));
+        assertEquals("first", slides.extractMaximum().getSlideText());
+        // slides with the same time come out in the order they were created
+        for (String text : texts) {
+            assertEquals(text, slides.extractMaximum().getSlideText());
+        }
+    }
 }
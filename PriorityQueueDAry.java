@@ -0,0 +1,102 @@
+/**
+ * PriorityQueueDAry is a DAryHeap that implements PriorityQueue interface.
+ *
+ * @author Xueying Xu (Shirley)
+ * @param <T>
+ */
+public class PriorityQueueDAry<T extends Comparable<T>> implements PriorityQueue<T> {
+
+	protected DAryHeap<T> pqHeap;
+
+	/**
+	 * Creates an empty priority queue with the specified arity and capacity.
+	 *
+	 * @param arity
+	 * @param capacity
+	 */
+	public PriorityQueueDAry(int arity, int capacity) {
+		pqHeap = new DAryHeap<T>(arity, capacity);
+	}
+
+	/**
+	 * Creates a priority queue with the specified arity and the given array.
+	 *
+	 * @param arity
+	 * @param array
+	 */
+	public PriorityQueueDAry(int arity, Comparable[] array) {
+		pqHeap = new DAryHeap<T>(arity, array);
+	}
+
+	/**
+	 * Inserts a new element in the priority queue.
+	 *
+	 * @param element
+	 */
+	public void insert(T element) {
+		// increase the capacity of the priority queue if needed
+		pqHeap.ensureCapacity(pqHeap.size() + 1);
+		pqHeap.addElement(element);
+	}
+
+	/**
+	 * Returns (Peeks) the element with the highest priority.
+	 *
+	 * @return the element with the highest priority
+	 */
+	public T maximum() {
+		if (pqHeap.isEmpty()) {
+			return null;
+		}
+		return pqHeap.getElement(0);
+	}
+
+	/**
+	 * Removes and returns the element with the highest priority.
+	 *
+	 * @return the element with the highest priority
+	 */
+	public T extractMaximum() {
+		return pqHeap.removeRoot();
+	}
+
+	/**
+	 * Sets the element at specified index to a new element. Fixes heap through
+	 * moving the element to the correct position. Assumes that the value of the
+	 * new element is greater than or equal to the value of the original element.
+	 *
+	 * @param index
+	 * @param element
+	 */
+	public void increaseValue(int index, T element) {
+		pqHeap.increaseValue(index, element);
+	}
+
+	/**
+	 * Returns a String representation of the priority queue. Used for testing.
+	 *
+	 * @return a String representation of the priority queue
+	 */
+	public String toString() {
+		return pqHeap.toString();
+	}
+
+	/**
+	 * Returns the number of elements stored in the priority queue.
+	 *
+	 * @return the number of elements stored in the priority queue
+	 */
+	public int getSize() {
+		return pqHeap.size();
+	}
+
+	/**
+	 * Returns the element stored at index i.
+	 *
+	 * @param i
+	 * @return the element stored at index i
+	 */
+	public T getElement(int i) {
+		return pqHeap.getElement(i);
+	}
+}
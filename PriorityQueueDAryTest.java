@@ -0,0 +1,67 @@
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * PriorityQueueDAryTest is a JUnit testing class to test the functionality of
+ * the d-ary heap priority queue for several arities.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class PriorityQueueDAryTest {
+    protected Integer[] array;
+    protected PriorityQueueDAry<Integer> emptyPQ;
+    protected PriorityQueueDAry<Integer> pq4;
+
+    @Before
+    public void init() {
+        emptyPQ = new PriorityQueueDAry<Integer>(4, 0);
+        array = new Integer[]{2, 1, 3, 10, 15, 8, 7, 4, 12};
+        pq4 = new PriorityQueueDAry<Integer>(4, array);
+    }
+
+    @Test
+    public void constructorTest() {
+        // children of the root are at 1..4, children of index 1 at 5..8
+        assertEquals("[15, 12, 3, 10, 2, 8, 7, 4, 1]", pq4.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void arityTooSmallTest() {
+        new PriorityQueueDAry<Integer>(1, 10);
+    }
+
+    @Test
+    public void maximumTest() {
+        assertEquals("test maximum", null, emptyPQ.maximum());
+        assertEquals("test maximum", null, emptyPQ.extractMaximum());
+        assertEquals("test maximum", 15, (int) pq4.maximum());
+        assertEquals("test maximum", 15, (int) pq4.maximum());
+    }
+
+    @Test
+    public void extractInOrderTest() {
+        for (int arity : new int[]{2, 3, 4, 8}) {
+            PriorityQueueDAry<Integer> pq = new PriorityQueueDAry<Integer>(arity, 1);
+            for (int i = 0; i < 200; i++) {
+                pq.insert((i * 37) % 101);
+            }
+            int previous = Integer.MAX_VALUE;
+            for (int i = 0; i < 200; i++) {
+                int value = pq.extractMaximum();
+                assertTrue("arity " + arity, value <= previous);
+                previous = value;
+            }
+            assertEquals(0, pq.getSize());
+        }
+    }
+
+    @Test
+    public void increaseValueTest() {
+        pq4.increaseValue(8, 20);
+        assertEquals("[20, 15, 3, 10, 2, 8, 7, 4, 12]", pq4.toString());
+        pq4.increaseValue(2, 1); // Will print out an error message, and the priority queue won't be modified
+        assertEquals("[20, 15, 3, 10, 2, 8, 7, 4, 12]", pq4.toString());
+    }
+}
@@ -0,0 +1,239 @@
+import java.util.Arrays;
+import java.util.function.ToLongFunction;
+
+/**
+ * RadixHeap is a monotone priority queue for elements with non-negative long
+ * keys, e.g. slides keyed by their time: the element with the smallest key
+ * has the highest priority, and a new key must not be smaller than the last
+ * key extracted. A show that plays its slides in time order and only schedules
+ * slides for later meets both conditions.
+ *
+ * The elements are kept in 64 buckets relative to the last extracted key:
+ * bucket 0 holds the elements whose key equals it, and bucket i the elements
+ * whose key first differs from it in bit i - 1. An insert appends to a bucket
+ * in O(1). An extraction takes from bucket 0; when bucket 0 is empty, the
+ * first non-empty bucket is emptied into lower buckets after its smallest key
+ * becomes the last key. Each element moves down at most 64 times, so insert and
+ * extract take O(1) amortized and no keys are compared by compareTo. Keys are
+ * stored in primitive long arrays.
+ *
+ * Elements with the same key come out first in, first out. Bucket 0 is
+ * consumed from the front, and its live elements are moved back to the front
+ * instead of growing it when more than half of it has been consumed, so
+ * inserting and extracting at the same key keeps it small.
+ *
+ * Keys cannot move between buckets once stored, so the heap does not offer the
+ * increaseValue by index of PriorityQueue.
+ *
+ * @author Xueying Xu (Shirley)
+ * @param <T>
+ */
+public class RadixHeap<T extends Comparable<T>> implements BasicPriorityQueue<T> {
+
+	private static final int BUCKETS = 64;
+	private static final int INITIAL_BUCKET_CAPACITY = 4;
+
+	private final ToLongFunction<? super T> keyExtractor;
+	private final long[][] keys = new long[BUCKETS][];
+	private final Object[][] elements = new Object[BUCKETS][];
+	private final int[] counts = new int[BUCKETS];
+	// bucket 0 is consumed from the front to keep equal keys in order
+	private int head;
+	private int size;
+	// the last extracted key; every stored key is at least this large
+	private long lastKey;
+
+	/**
+	 * Constructs an empty radix heap that reads the key of each element with
+	 * keyExtractor.
+	 *
+	 * @param keyExtractor
+	 */
+	public RadixHeap(ToLongFunction<? super T> keyExtractor) {
+		this.keyExtractor = keyExtractor;
+		for (int i = 0; i < BUCKETS; i++) {
+			keys[i] = new long[INITIAL_BUCKET_CAPACITY];
+			elements[i] = new Object[INITIAL_BUCKET_CAPACITY];
+		}
+	}
+
+	/**
+	 * Inserts a new element in the priority queue. Its key must not be smaller
+	 * than the last extracted key.
+	 *
+	 * @param element
+	 */
+	public void insert(T element) {
+		long key = keyExtractor.applyAsLong(element);
+		if (key < lastKey) {
+			throw new IllegalArgumentException("The key " + key + " is smaller than the last extracted key " + lastKey);
+		}
+		add(bucketOf(key), key, element);
+		size++;
+	}
+
+	/**
+	 * Returns (Peeks) the element with the smallest key.
+	 *
+	 * @return the element with the smallest key, or null if empty
+	 */
+	public T maximum() {
+		if (size == 0) {
+			return null;
+		}
+		refill();
+		return (T) elements[0][head];
+	}
+
+	/**
+	 * Returns the smallest key in the priority queue.
+	 *
+	 * @return the smallest key
+	 */
+	public long maximumKey() {
+		if (size == 0) {
+			throw new IllegalStateException("The heap is empty.");
+		}
+		refill();
+		return keys[0][head];
+	}
+
+	/**
+	 * Removes and returns the element with the smallest key.
+	 *
+	 * @return the element with the smallest key, or null if empty
+	 */
+	public T extractMaximum() {
+		if (size == 0) {
+			return null;
+		}
+		refill();
+		T element = (T) elements[0][head];
+		elements[0][head] = null;
+		head++;
+		if (head == counts[0]) {
+			head = 0;
+			counts[0] = 0;
+		}
+		size--;
+		return element;
+	}
+
+	/**
+	 * Returns the last extracted key, the smallest key that may be inserted.
+	 *
+	 * @return the last extracted key
+	 */
+	public long getLastKey() {
+		return lastKey;
+	}
+
+	/**
+	 * Returns the total length of the bucket arrays.
+	 *
+	 * @return the number of elements the buckets can hold without growing
+	 */
+	public int capacity() {
+		int capacity = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			capacity += keys[i].length;
+		}
+		return capacity;
+	}
+
+	/**
+	 * Removes all the elements. The last extracted key is kept.
+	 */
+	public void clear() {
+		for (int i = 0; i < BUCKETS; i++) {
+			Arrays.fill(elements[i], 0, counts[i], null);
+			counts[i] = 0;
+		}
+		head = 0;
+		size = 0;
+	}
+
+	/**
+	 * Returns true if the priority queue has no elements; false otherwise.
+	 *
+	 * @return true if the priority queue has no elements
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the number of elements stored in the priority queue.
+	 *
+	 * @return the number of elements stored in the priority queue
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the bucket of a key: 0 if it equals the last key, else one more
+	 * than the highest bit in which it differs from the last key.
+	 */
+	private int bucketOf(long key) {
+		return key == lastKey ? 0 : BUCKETS - Long.numberOfLeadingZeros(key ^ lastKey);
+	}
+
+	private void add(int bucket, long key, Object element) {
+		int count = counts[bucket];
+		if (bucket == 0 && count == keys[0].length && head > count / 2) {
+			compactHead();
+			count = counts[0];
+		}
+		if (count == keys[bucket].length) {
+			keys[bucket] = Arrays.copyOf(keys[bucket], 2 * count);
+			elements[bucket] = Arrays.copyOf(elements[bucket], 2 * count);
+		}
+		keys[bucket][count] = key;
+		elements[bucket][count] = element;
+		counts[bucket] = count + 1;
+	}
+
+	/**
+	 * Moves the elements of bucket 0 that have not been extracted to its front.
+	 */
+	private void compactHead() {
+		int live = counts[0] - head;
+		System.arraycopy(keys[0], head, keys[0], 0, live);
+		System.arraycopy(elements[0], head, elements[0], 0, live);
+		Arrays.fill(elements[0], live, counts[0], null);
+		counts[0] = live;
+		head = 0;
+	}
+
+	/**
+	 * Makes sure bucket 0 is not empty, if the heap is not empty: the smallest
+	 * key of the first non-empty bucket becomes the last key and the bucket is
+	 * emptied into the lower buckets, which are all empty. Its elements keep
+	 * their order, so equal keys stay first in, first out.
+	 */
+	private void refill() {
+		if (counts[0] > 0) {
+			return;
+		}
+		int bucket = 1;
+		while (counts[bucket] == 0) {
+			bucket++;
+		}
+		long[] bucketKeys = keys[bucket];
+		Object[] bucketElements = elements[bucket];
+		int count = counts[bucket];
+		long minimum = bucketKeys[0];
+		for (int i = 1; i < count; i++) {
+			if (bucketKeys[i] < minimum) {
+				minimum = bucketKeys[i];
+			}
+		}
+		lastKey = minimum;
+		counts[bucket] = 0;
+		for (int i = 0; i < count; i++) {
+			add(bucketOf(bucketKeys[i]), bucketKeys[i], bucketElements[i]);
+			bucketElements[i] = null;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+import static org.junit.Assert.*;
+import java.util.function.ToLongFunction;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * RadixHeapTest is a JUnit testing class to test the monotone radix heap.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class RadixHeapTest {
+    protected RadixHeap<Slide> slides;
+
+    @Before
+    public void init() {
+        slides = new RadixHeap<Slide>(new ToLongFunction<Slide>() {
+            public long applyAsLong(Slide slide) {
+                return slide.getSlideTime();
+            }
+        });
+    }
+
+    @Test
+    public void extractInOrderTest() {
+        assertNull(slides.maximum());
+        assertNull(slides.extractMaximum());
+        for (int i = 0; i < 1000; i++) {
+            slides.insert(new Slide("slide", (i * 37) % 1009));
+        }
+        assertEquals(1000, slides.getSize());
+        long previous = -1;
+        for (int i = 0; i < 1000; i++) {
+            long time = slides.extractMaximum().getSlideTime();
+            assertTrue(time >= previous);
+            previous = time;
+        }
+        assertTrue(slides.isEmpty());
+    }
+
+    @Test
+    public void monotoneInsertTest() {
+        slides.insert(new Slide("five", 5));
+        slides.insert(new Slide("nine", 9));
+        assertEquals(5, slides.maximumKey());
+        assertEquals("five", slides.extractMaximum().getSlideText());
+        assertEquals(5, slides.getLastKey());
+        // keys at or after the last extracted key can still be inserted
+        slides.insert(new Slide("again five", 5));
+        slides.insert(new Slide("seven", 7));
+        assertEquals("again five", slides.extractMaximum().getSlideText());
+        assertEquals("seven", slides.extractMaximum().getSlideText());
+        assertEquals("nine", slides.extractMaximum().getSlideText());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void keyBeforeLastKeyTest() {
+        slides.insert(new Slide("five", 5));
+        slides.extractMaximum();
+        slides.insert(new Slide("four", 4));
+    }
+
+    @Test
+    public void fifoTest() {
+        for (int i = 0; i < 50; i++) {
+            slides.insert(new Slide("slide " + i, 10 + i % 2));
+        }
+        for (int i = 0; i < 50; i += 2) {
+            assertEquals("slide " + i, slides.extractMaximum().getSlideText());
+        }
+        for (int i = 1; i < 50; i += 2) {
+            assertEquals("slide " + i, slides.extractMaximum().getSlideText());
+        }
+    }
+
+    @Test
+    public void sameKeyDoesNotGrowTest() {
+        // bucket 0 never drains, so its front is reused instead of growing
+        slides.insert(new Slide("slide 0", 5));
+        slides.insert(new Slide("slide 1", 5));
+        assertEquals("slide 0", slides.extractMaximum().getSlideText());
+        int capacity = slides.capacity();
+        for (int i = 2; i < 1000000; i++) {
+            slides.insert(new Slide("slide " + i, 5));
+            assertEquals("slide " + (i - 1), slides.extractMaximum().getSlideText());
+        }
+        assertEquals(capacity, slides.capacity());
+        assertEquals(1, slides.getSize());
+        assertEquals("slide 999999", slides.extractMaximum().getSlideText());
+    }
+
+    @Test
+    public void sameKeyFifoAfterCompactionTest() {
+        for (int i = 0; i < 100; i++) {
+            slides.insert(new Slide("slide " + i, 7));
+        }
+        int next = 0;
+        for (int i = 100; i < 300; i++) {
+            if (i % 3 == 0) {
+                assertEquals("slide " + next++, slides.extractMaximum().getSlideText());
+            }
+            slides.insert(new Slide("slide " + i, 7));
+            assertEquals("slide " + next++, slides.extractMaximum().getSlideText());
+        }
+        while (!slides.isEmpty()) {
+            assertEquals("slide " + next++, slides.extractMaximum().getSlideText());
+        }
+        assertEquals(300, next);
+    }
+}
@@ -0,0 +1,68 @@
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * SessionLoadGenerator measures the scheduling latency of
+ * SlideShowSessionManager: how late each slide is shown compared with its due
+ * time, for 1k, 10k and 100k concurrent sessions (or the counts given as
+ * arguments). Everything runs in this process; no network is involved.
+ *
+ * Every session plays SLIDES_PER_SESSION slides at random times within the
+ * first two seconds, with all sessions started at once.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class SessionLoadGenerator {
+
+	private static final int SLIDES_PER_SESSION = 5;
+	// slide times are in units of 10 ms, between 1 and 200 (up to 2 seconds)
+	private static final long MILLIS_PER_TIME_UNIT = 10;
+	private static final int MAX_SLIDE_TIME = 200;
+
+	public static void main(String[] args) throws InterruptedException {
+		int[] counts = { 1000, 10000, 100000 };
+		if (args.length > 0) {
+			counts = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				counts[i] = (int) Double.parseDouble(args[i]);
+			}
+		}
+		int threads = Runtime.getRuntime().availableProcessors();
+		for (int count : counts) {
+			run(count, threads);
+		}
+	}
+
+	private static void run(int sessionCount, int threads) throws InterruptedException {
+		SlideShowSessionManager manager = new SlideShowSessionManager(threads);
+		final CountDownLatch finished = new CountDownLatch(sessionCount);
+		Random random = new Random(sessionCount);
+		SlideShowSessionManager.Session[] sessions = new SlideShowSessionManager.Session[sessionCount];
+		for (int i = 0; i < sessionCount; i++) {
+			SlideShowQueue queue = new SlideShowQueue();
+			for (int s = 0; s < SLIDES_PER_SESSION; s++) {
+				queue.addSlide("Session " + i + " slide " + s, 1 + random.nextInt(MAX_SLIDE_TIME));
+			}
+			SlideShowSessionManager.Session session = manager.createSession(queue, MILLIS_PER_TIME_UNIT);
+			session.getEngine().addListener(new SlideShowListener() {
+				public void slideShown(Slide slide, long dueMillis) {
+				}
+
+				public void showFinished() {
+					finished.countDown();
+				}
+			});
+			sessions[i] = session;
+		}
+		for (SlideShowSessionManager.Session session : sessions) {
+			session.start();
+		}
+		finished.await();
+		manager.shutdown();
+
+		DriftHistogram drift = manager.getDriftHistogram();
+		System.out.printf("%,8d sessions on %d threads: %,d slides  latency p50 %.2f ms  p99 %.2f ms  max %.2f ms%n",
+				sessionCount, threads, drift.getCount(), drift.getPercentile(0.50) / 1e6,
+				drift.getPercentile(0.99) / 1e6, drift.getMax() / 1e6);
+	}
+}
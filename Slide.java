@@ -1,13 +1,24 @@
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Slide implements Comparable interface and has the text and order (time) for
- * display.
+ * display. The time is a long, e.g. milliseconds from the start of the show.
+ * Slides with the same time are displayed in the order of their sequence
+ * numbers, which are given out in creation order. A slide that is stored and
+ * rebuilt later, e.g. by SlideStore or DeckFile, keeps its place by being
+ * rebuilt with a sequence number reserved for it.
  * 
  * @author Xueying Xu (Shirley)
  */
 public class Slide implements Comparable<Slide> {
 
+	// sequence number of the next slide created
+	private static final AtomicLong NEXT_SEQUENCE = new AtomicLong();
+
 	private String slideText;
-	private Integer slideTime;
+	private long slideTime;
+	// creation order, so slides with the same time are displayed first in, first out
+	private final long sequence;
     
 	/**
 	 * Constructs a slide with the specified text and time.
@@ -15,9 +26,34 @@ public class Slide implements Comparable<Slide> {
 	 * @param slideText
 	 * @param slideTime
 	 */
-	public Slide(String slideText, Integer slideTime) {
+	public Slide(String slideText, long slideTime) {
+		this(slideText, slideTime, NEXT_SEQUENCE.getAndIncrement());
+	}
+
+	/**
+	 * Constructs a slide with the specified text, time and sequence number, e.g.
+	 * one returned by reserveSequences.
+	 * 
+	 * @param slideText
+	 * @param slideTime
+	 * @param sequence
+	 */
+	public Slide(String slideText, long slideTime, long sequence) {
 		this.slideText = slideText;
 		this.slideTime = slideTime;
+		this.sequence = sequence;
+	}
+
+	/**
+	 * Reserves count consecutive sequence numbers that no other slide gets, e.g.
+	 * to rebuild stored slides in their original order after all the slides
+	 * created so far.
+	 * 
+	 * @param count
+	 * @return the first of the reserved sequence numbers
+	 */
+	public static long reserveSequences(int count) {
+		return NEXT_SEQUENCE.getAndAdd(count);
 	}
     
 	/**
@@ -34,27 +70,36 @@ public class Slide implements Comparable<Slide> {
 	 * 
 	 * @return the time (order) of a slide
 	 */
-	public Integer getSlideTime() {
+	public long getSlideTime() {
 		return slideTime;
 	}
 
+	/**
+	 * Returns the sequence number of a slide, which orders slides with the same
+	 * time.
+	 * 
+	 * @return the sequence number of a slide
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
 	/**
 	 * Compares the order of displaying. 
-	 * Returns 1 if the current slide should be displayed earlier than the other slide.
-	 * Returns 0 if the order is the same.
-	 * Returns -1 if the current slide should be displayed later than the other slide.
+	 * Returns a positive number if the current slide should be displayed earlier than the other slide.
+	 * Returns 0 only for the same slide.
+	 * Returns a negative number if the current slide should be displayed later than the other slide.
+	 * Slides with the same time are displayed in the order they were created.
 	 * 
 	 * @param anotherSlide
 	 */
 	public int compareTo(Slide anotherSlide) {
-		// the current slide should be displayed earlier (higher priority)
-		if (this.getSlideTime() < anotherSlide.getSlideTime()) {
-			return 1;
-		} else if (this.getSlideTime() == anotherSlide.getSlideTime()) {
-			return 0;
-		// the current slide should be displayed later (lower priority)
-		} else {
-			return -1;
+		// the earlier time has the higher priority
+		int order = Long.compare(anotherSlide.slideTime, this.slideTime);
+		if (order != 0) {
+			return order;
 		}
+		// slides with the same time are displayed in the order they were created
+		return Long.compare(anotherSlide.sequence, this.sequence);
 	}
 }
@@ -0,0 +1,119 @@
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * SlidePrerenderer renders upcoming slides into frames on a background thread
+ * and keeps them in a FrameCache, so showing a slide is only a matter of
+ * drawing an image that is already there instead of laying out and rendering
+ * its text on the event dispatch thread.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class SlidePrerenderer {
+
+	private final int width;
+	private final int height;
+	private final Font font;
+	private final FrameCache cache;
+	// slides queued for rendering but not rendered yet
+	private final Set<Slide> pending = Collections.synchronizedSet(new HashSet<Slide>());
+	private final ExecutorService worker = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		public Thread newThread(Runnable task) {
+			Thread thread = new Thread(task, "slide-prerenderer");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	/**
+	 * Constructs a prerenderer for frames of the given size and font, cached in
+	 * the given cache.
+	 *
+	 * @param width
+	 * @param height
+	 * @param font
+	 * @param cache
+	 */
+	public SlidePrerenderer(int width, int height, Font font, FrameCache cache) {
+		this.width = width;
+		this.height = height;
+		this.font = font;
+		this.cache = cache;
+	}
+
+	/**
+	 * Queues the slides that are not cached yet for rendering in the background.
+	 *
+	 * @param slides
+	 */
+	public void prefetch(Iterable<Slide> slides) {
+		for (final Slide slide : slides) {
+			if (cache.contains(slide) || !pending.add(slide)) {
+				continue;
+			}
+			worker.execute(new Runnable() {
+				public void run() {
+					try {
+						cache.put(slide, render(slide.getSlideText()));
+					} finally {
+						pending.remove(slide);
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * Returns the frame of a slide, rendering it right away if it has not been
+	 * prerendered.
+	 *
+	 * @param slide
+	 * @return the frame of the slide
+	 */
+	public BufferedImage getFrame(Slide slide) {
+		BufferedImage frame = cache.get(slide);
+		return frame != null ? frame : render(slide.getSlideText());
+	}
+
+	/**
+	 * Renders a text centered on a white frame.
+	 *
+	 * @param text
+	 * @return the rendered frame
+	 */
+	public BufferedImage render(String text) {
+		BufferedImage frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = frame.createGraphics();
+		try {
+			g.setColor(Color.WHITE);
+			g.fillRect(0, 0, width, height);
+			g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+			g.setFont(font);
+			g.setColor(Color.BLACK);
+			FontMetrics metrics = g.getFontMetrics();
+			int x = (width - metrics.stringWidth(text)) / 2;
+			int y = (height - metrics.getHeight()) / 2 + metrics.getAscent();
+			g.drawString(text, x, y);
+		} finally {
+			g.dispose();
+		}
+		return frame;
+	}
+
+	/**
+	 * Stops the rendering thread. Queued slides are not rendered.
+	 */
+	public void shutdown() {
+		worker.shutdownNow();
+	}
+}
@@ -0,0 +1,27 @@
+/**
+ * This is an interface for receiving the changes of a SlideShowQueue, e.g. to
+ * keep a view of its slides up to date without reading the whole queue.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public interface SlideQueueListener {
+
+	/**
+	 * Called when a slide is added to the queue. Called on the thread that adds
+	 * it, while it holds whatever lock guards the queue, so it must return
+	 * quickly.
+	 *
+	 * @param slide
+	 */
+	public void slideAdded(Slide slide);
+
+	/**
+	 * Called when a slide is taken out of the queue. Called on the thread that
+	 * takes it, while it holds whatever lock guards the queue, so it must return
+	 * quickly.
+	 *
+	 * @param slide
+	 */
+	public void slideRemoved(Slide slide);
+
+}
@@ -11,7 +11,7 @@ public class SlideShowApplication {
 	public static void main(String[] args) {
 		
 		JFrame guiFrame = new JFrame("This is a slideshow!");
-		guiFrame.setSize(1000, 600);
+		guiFrame.setSize(1300, 600);
 		//guiFrame.getContentPane().setBackground( new Color(216, 235, 255) );
 		guiFrame.add(new SlideShowPanel());
 		// Exit normally on closing the window
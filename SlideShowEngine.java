@@ -0,0 +1,365 @@
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SlideShowEngine plays the slides of a SlideShowQueue without any user
+ * interface. Each slide is shown when the position of the show reaches its
+ * time, and every SlideShowListener is told about it.
+ *
+ * The engine can be driven in two ways:
+ * <ul>
+ * <li>in real time with start, pause, seek and stop, on a thread of its own
+ * that sleeps until the next slide is due;</li>
+ * <li>in virtual time with advanceTo or advanceBy, which show all slides due up
+ * to the new position right away on the calling thread, e.g. to run load tests
+ * faster than real time.</li>
+ * </ul>
+ * Shown slides are taken out of the queue. The engine synchronizes on the queue,
+ * so other threads must hold the lock of the queue while they use it.
+ *
+ * In real time the engine records how late it dispatches every slide in a
+ * DriftHistogram (see getDriftHistogram), which is only created once the show
+ * runs in real time or the histogram is asked for.
+ * 
+ * @author Xueying Xu (Shirley)
+ */
+public class SlideShowEngine {
+
+	private final SlideShowQueue queue;
+	// milliseconds per unit of slide time
+	private final long millisPerTimeUnit;
+	private final List<SlideShowListener> listeners = new CopyOnWriteArrayList<SlideShowListener>();
+	// the position of the show in milliseconds when it was last started or paused
+	private long basePosition;
+	// System.nanoTime() when the show was last started
+	private long baseNanos;
+	private boolean running;
+	private boolean finished;
+	private Thread worker;
+	// how late the real-time loop dispatches the slides; created when the show
+	// first runs in real time, so engines driven in virtual time never allocate it
+	private DriftHistogram drift;
+
+	/**
+	 * Constructs an engine for a queue whose slide times count in units of
+	 * millisPerTimeUnit milliseconds (1000 for seconds).
+	 * 
+	 * @param queue
+	 * @param millisPerTimeUnit
+	 */
+	public SlideShowEngine(SlideShowQueue queue, long millisPerTimeUnit) {
+		if (millisPerTimeUnit < 1) {
+			throw new IllegalArgumentException("A unit of slide time must be at least 1 ms: " + millisPerTimeUnit);
+		}
+		this.queue = queue;
+		this.millisPerTimeUnit = millisPerTimeUnit;
+	}
+
+	/**
+	 * Adds a listener.
+	 * 
+	 * @param listener
+	 */
+	public void addListener(SlideShowListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener.
+	 * 
+	 * @param listener
+	 */
+	public void removeListener(SlideShowListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Returns the queue the engine plays.
+	 * 
+	 * @return the queue of slides
+	 */
+	public SlideShowQueue getQueue() {
+		return queue;
+	}
+
+	/**
+	 * Adds a slide to the queue, waking up the engine if the new slide is due
+	 * before the one it is waiting for.
+	 * 
+	 * @param slideText
+	 * @param slideTime
+	 */
+	public void addSlide(String slideText, long slideTime) {
+		synchronized (queue) {
+			queue.addSlide(slideText, slideTime);
+			finished = false;
+			queue.notifyAll();
+		}
+	}
+
+	/**
+	 * Starts the show in real time, or resumes it after pause, from the current
+	 * position.
+	 */
+	public void start() {
+		synchronized (queue) {
+			if (running) {
+				return;
+			}
+			running = true;
+			finished = false;
+			driftHistogram();
+			baseNanos = System.nanoTime();
+			worker = new Thread(new Runnable() {
+				public void run() {
+					play();
+				}
+			}, "slide-show-engine");
+			worker.setDaemon(true);
+			worker.start();
+		}
+	}
+
+	/**
+	 * Pauses the show at the current position.
+	 */
+	public void pause() {
+		synchronized (queue) {
+			if (running) {
+				basePosition = position();
+				running = false;
+				queue.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Stops the show and rewinds the position to 0. Slides not shown yet stay in
+	 * the queue.
+	 */
+	public void stop() {
+		synchronized (queue) {
+			running = false;
+			basePosition = 0;
+			queue.notifyAll();
+		}
+	}
+
+	/**
+	 * Moves the show forward to the given position. Slides due before it are
+	 * skipped (taken out of the queue without being shown). The show cannot move
+	 * backwards because shown slides are no longer in the queue.
+	 * 
+	 * @param positionMillis
+	 */
+	public void seek(long positionMillis) {
+		synchronized (queue) {
+			long current = position();
+			if (positionMillis < current) {
+				throw new IllegalArgumentException("Cannot seek back from " + current + " ms to " + positionMillis + " ms.");
+			}
+			Slide next;
+			while ((next = queue.peekSlide()) != null && dueMillis(next) < positionMillis) {
+				queue.displaySlide();
+			}
+			basePosition = positionMillis;
+			baseNanos = System.nanoTime();
+			queue.notifyAll();
+		}
+	}
+
+	/**
+	 * Moves the show forward in virtual time to the given position, showing every
+	 * slide due up to it on the calling thread. Not allowed while the show runs
+	 * in real time.
+	 * 
+	 * @param positionMillis
+	 */
+	public void advanceTo(long positionMillis) {
+		while (true) {
+			Slide due;
+			long dueMillis;
+			synchronized (queue) {
+				if (running) {
+					throw new IllegalStateException("The show is running in real time.");
+				}
+				if (positionMillis < basePosition) {
+					throw new IllegalArgumentException("Cannot move back from " + basePosition + " ms to " + positionMillis + " ms.");
+				}
+				due = queue.peekSlide();
+				dueMillis = due == null ? Long.MAX_VALUE : dueMillis(due);
+				if (dueMillis > positionMillis) {
+					basePosition = positionMillis;
+					break;
+				}
+				queue.displaySlide();
+				basePosition = Math.max(basePosition, dueMillis);
+			}
+			fireSlideShown(due, dueMillis);
+		}
+		checkFinished();
+	}
+
+	/**
+	 * Moves the show forward in virtual time by the given number of milliseconds.
+	 * 
+	 * @param millis
+	 */
+	public void advanceBy(long millis) {
+		advanceTo(getPosition() + millis);
+	}
+
+	/**
+	 * Returns the current position of the show in milliseconds.
+	 * 
+	 * @return the current position in milliseconds
+	 */
+	public long getPosition() {
+		synchronized (queue) {
+			return position();
+		}
+	}
+
+	/**
+	 * Returns the position at which the next slide is due, or -1 if the queue is
+	 * empty.
+	 * 
+	 * @return the position of the next slide in milliseconds, or -1
+	 */
+	public long nextDueMillis() {
+		synchronized (queue) {
+			Slide next = queue.peekSlide();
+			return next == null ? -1 : dueMillis(next);
+		}
+	}
+
+	/**
+	 * Returns true while the show runs in real time.
+	 * 
+	 * @return true while the show runs in real time
+	 */
+	public boolean isRunning() {
+		synchronized (queue) {
+			return running;
+		}
+	}
+
+	/**
+	 * Returns the histogram of how late slides were dispatched to the listeners
+	 * in real time, measured from the moment they were due.
+	 * 
+	 * @return the dispatch drift histogram
+	 */
+	public DriftHistogram getDriftHistogram() {
+		synchronized (queue) {
+			return driftHistogram();
+		}
+	}
+
+	/**
+	 * Returns the System.nanoTime() at which the running show reaches the given
+	 * position, e.g. to measure how late a listener displays a slide. The result
+	 * is only meaningful while the show runs in real time and is not moved.
+	 * 
+	 * @param positionMillis
+	 * @return the time in nanoseconds at which the position is reached
+	 */
+	public long dueNanos(long positionMillis) {
+		synchronized (queue) {
+			return baseNanos + TimeUnit.MILLISECONDS.toNanos(positionMillis - basePosition);
+		}
+	}
+
+	/**
+	 * Returns the position a slide is due at.
+	 * 
+	 * @param slide
+	 * @return the position of the slide in milliseconds
+	 */
+	public long dueMillis(Slide slide) {
+		return slide.getSlideTime() * millisPerTimeUnit;
+	}
+
+	/**
+	 * Returns the drift histogram, creating it the first time. Called with the
+	 * lock of the queue held.
+	 */
+	private DriftHistogram driftHistogram() {
+		if (drift == null) {
+			drift = new DriftHistogram("engine dispatch");
+		}
+		return drift;
+	}
+
+	private long position() {
+		if (!running) {
+			return basePosition;
+		}
+		return basePosition + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - baseNanos);
+	}
+
+	/**
+	 * The real-time loop: sleeps until the next slide is due, shows it and
+	 * repeats until the queue is empty or the show is paused or stopped.
+	 */
+	private void play() {
+		while (true) {
+			Slide due;
+			long dueMillis;
+			long dueNanos;
+			DriftHistogram histogram;
+			synchronized (queue) {
+				if (!running || worker != Thread.currentThread()) {
+					return;
+				}
+				due = queue.peekSlide();
+				if (due == null) {
+					basePosition = position();
+					running = false;
+					break;
+				}
+				dueMillis = dueMillis(due);
+				long wait = dueMillis - position();
+				if (wait > 0) {
+					// wakes up early if a slide is added or the show is paused, moved or stopped
+					try {
+						queue.wait(wait);
+					} catch (InterruptedException e) {
+						basePosition = position();
+						running = false;
+						return;
+					}
+					continue;
+				}
+				queue.displaySlide();
+				dueNanos = baseNanos + TimeUnit.MILLISECONDS.toNanos(dueMillis - basePosition);
+				histogram = drift;
+			}
+			histogram.record(System.nanoTime() - dueNanos);
+			fireSlideShown(due, dueMillis);
+		}
+		checkFinished();
+	}
+
+	private void fireSlideShown(Slide slide, long dueMillis) {
+		for (SlideShowListener listener : listeners) {
+			listener.slideShown(slide, dueMillis);
+		}
+	}
+
+	/**
+	 * Tells the listeners that the show has finished, once per emptied queue.
+	 */
+	private void checkFinished() {
+		synchronized (queue) {
+			if (finished || queue.getPQSize() > 0) {
+				return;
+			}
+			finished = true;
+		}
+		for (SlideShowListener listener : listeners) {
+			listener.showFinished();
+		}
+	}
+}
@@ -0,0 +1,117 @@
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * SlideShowEngineTest is a JUnit testing class to test the headless slide show
+ * engine in virtual time.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class SlideShowEngineTest {
+    protected SlideShowQueue slides;
+    protected SlideShowEngine engine;
+    protected List<String> shown;
+    protected int finished;
+
+    @Before
+    public void init() {
+        slides = new SlideShowQueue();
+        slides.addSlide("three", 3);
+        slides.addSlide("one", 1);
+        slides.addSlide("two", 2);
+        engine = new SlideShowEngine(slides, 1000);
+        shown = new ArrayList<String>();
+        finished = 0;
+        engine.addListener(new SlideShowListener() {
+            public void slideShown(Slide slide, long dueMillis) {
+                shown.add(slide.getSlideText() + "@" + dueMillis);
+            }
+
+            public void showFinished() {
+                finished++;
+            }
+        });
+    }
+
+    @Test
+    public void advanceTest() {
+        engine.advanceTo(999);
+        assertEquals(0, shown.size());
+        engine.advanceTo(1000);
+        assertEquals("[one@1000]", shown.toString());
+        assertEquals(2000, engine.nextDueMillis());
+        engine.advanceBy(5000);
+        assertEquals("[one@1000, two@2000, three@3000]", shown.toString());
+        assertEquals(6000, engine.getPosition());
+        assertEquals(1, finished);
+        assertEquals(-1, engine.nextDueMillis());
+    }
+
+    @Test
+    public void seekSkipsSlidesTest() {
+        engine.seek(2500);
+        assertEquals(1, slides.getPQSize());
+        engine.advanceTo(3000);
+        assertEquals("[three@3000]", shown.toString());
+        assertEquals(1, finished);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void seekBackTest() {
+        engine.advanceTo(2000);
+        engine.seek(1000);
+    }
+
+    @Test
+    public void addSlideAfterFinishTest() {
+        engine.advanceTo(3000);
+        assertEquals(1, finished);
+        engine.addSlide("four", 4);
+        engine.advanceTo(4000);
+        assertEquals("[one@1000, two@2000, three@3000, four@4000]", shown.toString());
+        assertEquals(2, finished);
+    }
+
+    @Test
+    public void realTimeTest() throws InterruptedException {
+        engine = new SlideShowEngine(slides, 20);
+        engine.addListener(new SlideShowListener() {
+            public void slideShown(Slide slide, long dueMillis) {
+                synchronized (shown) {
+                    shown.add(slide.getSlideText());
+                }
+            }
+
+            public void showFinished() {
+                synchronized (shown) {
+                    shown.notifyAll();
+                }
+            }
+        });
+        synchronized (shown) {
+            engine.start();
+            shown.wait(5000);
+            assertEquals("[one, two, three]", shown.toString());
+        }
+        assertFalse(engine.isRunning());
+        assertEquals(3, engine.getDriftHistogram().getCount());
+    }
+
+    @Test
+    public void emptySnapshotTest() {
+        SlideShowQueue empty = new SlideShowQueue().snapshot();
+        assertNull(empty.peekSlide());
+        assertNull(empty.displaySlide());
+        SlideShowEngine emptyEngine = new SlideShowEngine(empty, 1);
+        emptyEngine.advanceTo(5);
+        assertEquals(5, emptyEngine.getPosition());
+        // a slide can still be added to the copy and played
+        emptyEngine.addSlide("late", 10);
+        emptyEngine.advanceTo(10);
+        assertNull(empty.peekSlide());
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * This is an interface for receiving the events of a SlideShowEngine.
+ * 
+ * @author Xueying Xu (Shirley)
+ */
+public interface SlideShowListener {
+
+	/**
+	 * Called when a slide is shown. Called on the thread that drives the engine.
+	 * 
+	 * @param slide
+	 * @param dueMillis the position in the show the slide was due at
+	 */
+	public void slideShown(Slide slide, long dueMillis);
+
+	/**
+	 * Called once the last slide has been shown.
+	 */
+	public void showFinished();
+
+}
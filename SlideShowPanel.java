@@ -1,6 +1,10 @@
 import javax.swing.*;
 import java.awt.event.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
 
 /**
  * SlideShowPanel is the user interface for the SlideShow application. The user
@@ -15,9 +19,12 @@ public class SlideShowPanel extends JPanel implements ActionListener {
 	private JPanel displayPanel;
 	private JTextField slideText;
 	private JTextField slideTime;
-	private JTextField slideDisplay;
+	private SlideView slideDisplay;
 	private JButton addSlideButton;
 	private JButton startButton;
+	// lists the slides of the deck; only the visible rows are read
+	private JList<Slide> deckList;
+	private DeckListModel deckModel;
 	private JPanel messagePanel;
 	// Displays messages to remind the user to enter valid information
 	private JLabel message;
@@ -25,9 +32,27 @@ public class SlideShowPanel extends JPanel implements ActionListener {
 	/** Non-GUI data **/
 	// a Priority Queue of Slides
 	private SlideShowQueue slides;
-	private Timer timer;
-	// duration of the slide show
-	private int time = 0;
+	// plays the slides of the queue
+	private SlideShowEngine engine;
+	// a copy of the slides of the last show, to replay it once it has finished
+	private SlideShowQueue lastShow;
+	// slide times are in milliseconds; the user enters them in seconds
+	private static final long MILLIS_PER_SLIDE_TIME = 1;
+	// how long the last slide stays on screen before the display is restored
+	private static final int LAST_SLIDE_MILLIS = 1000;
+	// renders upcoming slides in the background
+	private SlidePrerenderer prerenderer;
+	// number of upcoming slides kept rendered ahead of the show
+	private static final int PRERENDERED_SLIDES = 5;
+	// memory budget of the rendered frames
+	private static final long FRAME_CACHE_BYTES = 32L * 1024 * 1024;
+	private static final String IDLE_TEXT = "Slideshow Appears Here!";
+	private static final int DISPLAY_WIDTH = 600;
+	private static final int DISPLAY_HEIGHT = 400;
+	// how late the slides appear on screen, measured on the event dispatch thread
+	private final DriftHistogram displayDrift = new DriftHistogram("display");
+	// prints the drift of the show every that many milliseconds (0 = never)
+	private static final long DRIFT_REPORT_MILLIS = Long.getLong("slideshow.driftReportMillis", 0);
 
 	/**
 	 * Constructs the user interface.
@@ -35,10 +60,36 @@ public class SlideShowPanel extends JPanel implements ActionListener {
 	public SlideShowPanel() {
 		// Creates the backend for a Slideshow
 		slides = new SlideShowQueue();
+		engine = new SlideShowEngine(slides, MILLIS_PER_SLIDE_TIME);
 		this.setLayout(new BorderLayout());
 		add(createSlideInfoPanel(), BorderLayout.NORTH);
 		add(createDisplayPanel(), BorderLayout.CENTER);
+		add(createDeckPanel(), BorderLayout.EAST);
 		add(createMessagePanel(), BorderLayout.SOUTH);
+		engine.addListener(new DisplayListener());
+		if (DRIFT_REPORT_MILLIS > 0) {
+			engine.getDriftHistogram().startReporting(System.out, DRIFT_REPORT_MILLIS);
+			displayDrift.startReporting(System.out, DRIFT_REPORT_MILLIS);
+		}
+	}
+
+	/**
+	 * Returns the histogram of how late the slides appeared on screen compared
+	 * with their scheduled time.
+	 * 
+	 * @return the display drift histogram
+	 */
+	public DriftHistogram getDisplayDrift() {
+		return displayDrift;
+	}
+
+	/**
+	 * Returns the engine playing the slides, e.g. for its dispatch drift.
+	 * 
+	 * @return the engine of the panel
+	 */
+	public SlideShowEngine getEngine() {
+		return engine;
 	}
 
 	/**
@@ -60,7 +111,7 @@ public class SlideShowPanel extends JPanel implements ActionListener {
 		slideText.setForeground(Color.GRAY);
 
 		// a JTextField for the user to enter the time(order) for display
-		slideTime = new JTextField("Slide Time (1-10)");
+		slideTime = new JTextField("Slide Time (s)");
 		slideTime.setBorder(BorderFactory.createLineBorder(Color.BLACK));
 		slideTime.setPreferredSize(new Dimension(240, 40));
 		slideTime.setHorizontalAlignment(JTextField.LEFT);
@@ -89,13 +140,11 @@ public class SlideShowPanel extends JPanel implements ActionListener {
 
 		displayPanel = new JPanel(new FlowLayout());
 
-		// a JTextField to display the slides
-		slideDisplay = new JTextField("Slideshow Appears Here!");
-		slideDisplay.setEditable(false);
-		slideDisplay.setBorder(BorderFactory.createLineBorder(Color.BLACK));
-		slideDisplay.setPreferredSize(new Dimension(600, 400));
-		slideDisplay.setHorizontalAlignment(JTextField.CENTER);
-		slideDisplay.setFont(new Font("Arial", Font.BOLD + Font.ITALIC, 25));
+		// a SlideView to display the pre-rendered slides
+		prerenderer = new SlidePrerenderer(DISPLAY_WIDTH, DISPLAY_HEIGHT,
+				new Font("Arial", Font.BOLD + Font.ITALIC, 25), new FrameCache(FRAME_CACHE_BYTES));
+		slideDisplay = new SlideView(DISPLAY_WIDTH, DISPLAY_HEIGHT);
+		slideDisplay.showFrame(prerenderer.render(IDLE_TEXT));
 
 		// a JButton for the user to start the slide show
 		startButton = new JButton("Start the Show");
@@ -109,6 +158,32 @@ public class SlideShowPanel extends JPanel implements ActionListener {
 		return displayPanel;
 	}
 
+	/**
+	 * Creates and returns a JScrollPane listing the slides of the deck in the
+	 * order of display. The list is virtualized: every row has the same height,
+	 * so the JList only reads and renders the rows in view.
+	 * 
+	 * @return a JScrollPane listing the deck
+	 */
+	private JScrollPane createDeckPanel() {
+		deckModel = new DeckListModel(slides);
+		deckList = new JList<Slide>(deckModel);
+		deckList.setFont(new Font("Arial", Font.PLAIN, 13));
+		deckList.setFixedCellHeight(20);
+		deckList.setFixedCellWidth(250);
+		deckList.setCellRenderer(new DefaultListCellRenderer() {
+			public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+					boolean isSelected, boolean cellHasFocus) {
+				Slide slide = (Slide) value;
+				String row = formatSeconds(slide.getSlideTime()) + " s   " + slide.getSlideText();
+				return super.getListCellRendererComponent(list, row, index, isSelected, cellHasFocus);
+			}
+		});
+		JScrollPane deckPanel = new JScrollPane(deckList);
+		deckPanel.setBorder(BorderFactory.createTitledBorder("Deck"));
+		return deckPanel;
+	}
+
 	/**
 	 * Creates and returns a JPanel used for displaying reminder messages.
 	 * 
@@ -129,14 +204,50 @@ public class SlideShowPanel extends JPanel implements ActionListener {
 	 * @param time
 	 * @return true if there exists a Slide that has the same time for display
 	 */
-	private boolean hasSameDisplayTime(Integer time) {
-		// Checks every Slide in the queue
-		for (int i = 0; i < slides.getPQSize(); i++) {
-			if (slides.getSlidesQueue().getElement(i).getSlideTime().compareTo(time) == 0) {
-				return true;
-			}
+	private boolean hasSameDisplayTime(long time) {
+		// the engine takes slides out of the queue during the show
+		synchronized (slides) {
+			return slides.hasSlideAt(time);
+		}
+	}
+
+	/**
+	 * Returns the first time at or after the given time that no Slide in the
+	 * queue has, to suggest to the user.
+	 * 
+	 * @param time
+	 * @return the next free time for display
+	 */
+	private long nextFreeDisplayTime(long time) {
+		synchronized (slides) {
+			return slides.nextFreeTime(time);
+		}
+	}
+
+	/**
+	 * Parses a time entered in seconds, with up to millisecond precision, into
+	 * milliseconds.
+	 * 
+	 * @param seconds
+	 * @return the time in milliseconds
+	 * @throws NumberFormatException if the text is not a number or too large
+	 */
+	private static long parseMillis(String seconds) {
+		try {
+			return new BigDecimal(seconds.trim()).movePointRight(3).setScale(0, RoundingMode.HALF_UP).longValueExact();
+		} catch (ArithmeticException ae) {
+			throw new NumberFormatException("The time is too large: " + seconds);
 		}
-		return false;
+	}
+
+	/**
+	 * Formats a time in milliseconds as seconds.
+	 * 
+	 * @param millis
+	 * @return the time in seconds
+	 */
+	private static String formatSeconds(long millis) {
+		return BigDecimal.valueOf(millis).movePointLeft(3).stripTrailingZeros().toPlainString();
 	}
 
 	public void actionPerformed(ActionEvent e) {
@@ -154,60 +265,102 @@ public class SlideShowPanel extends JPanel implements ActionListener {
 				// the user has entered something
 				} else {
 					try {
-						Integer time = Integer.parseInt(slideTime.getText());
+						long time = parseMillis(slideTime.getText());
 						// if the time entered is not in the required range
-						if (time > 10 || time < 1) {
-							message.setText("The time for displaying the slide can only be a number between 1 and 10.");
+						if (time <= 0) {
+							message.setText("The time for displaying the slide must be after the start of the show.");
 						// if there is a Slide that has the same time to display
 						} else if (hasSameDisplayTime(time)) {
 							message.setText("The time you entered has been scheduled to display another slide.\n"
-					                + "Please enter a different time.");
+					                + "Please enter a different time, e.g. " + formatSeconds(nextFreeDisplayTime(time)) + " s.");
 						// Valid information
 						} else {
 							String text = slideText.getText();
 							// add the slide to the queue
-							slides.addSlide(text, time);
+							engine.addSlide(text, time);
 							message.setText("The slide has been added to the slideshow.\n"
 									+ "Please add another slide or start the show.");
-							if (slides.getPQSize() == 10) {
-								message.setText("You have already provided 10 slides. Please start the show now.\n"
-										+ "Enjoy!");
-							}
 							slideText.setText("");
 							slideTime.setText("");
 						}
 					// the user has entered something other than a number
 					} catch (NumberFormatException nfe) {
-						message.setText("Please enter a valid number (1-10) for the time.");
+						message.setText("Please enter a valid number of seconds for the time.");
+					// every later time has been scheduled too
+					} catch (IllegalStateException ise) {
+						message.setText("The time you entered has been scheduled to display another slide.\n"
+				                + "Please enter an earlier time.");
 					}
 				}
 			}
 		// if the user wants to start the show
 		} else if (e.getSource() == startButton) {
+			// a show that is playing keeps its position and timing
+			if (engine.isRunning()) {
+				message.setText("The show is already running.");
+				return;
+			}
 			message.setText("");
-			// sets up the timer (delay is 1 second)
-			timer = new Timer(1000, new ActionListener() {
-				public void actionPerformed(ActionEvent e) {
-					// keeps track of the time since the start of the slide show
-					time += 1;
-					try {
-						// displays the slide at the specified time
-						if (time == (int) slides.peekSlide().getSlideTime()) {
-							slideDisplay.setText(slides.displaySlide().getSlideText());
+			// starts the show from the beginning with the slides left in the queue
+			engine.stop();
+			synchronized (slides) {
+				if (slides.getPQSize() > 0) {
+					lastShow = slides.snapshot();
+				} else if (lastShow != null) {
+					// replays the last show
+					slides.addAll(lastShow);
+					message.setText("Replaying the last show.");
+				}
+			}
+			prefetchUpcomingSlides();
+			engine.start();
+		}
+	}
+
+	/**
+	 * Queues the next slides for prerendering.
+	 */
+	private void prefetchUpcomingSlides() {
+		List<Slide> upcoming;
+		synchronized (slides) {
+			upcoming = slides.peekSlides(PRERENDERED_SLIDES);
+		}
+		prerenderer.prefetch(upcoming);
+	}
+
+	/**
+	 * DisplayListener shows the slides played by the engine.
+	 */
+	private class DisplayListener implements SlideShowListener {
+
+		public void slideShown(Slide slide, long dueMillis) {
+			final long dueNanos = engine.dueNanos(dueMillis);
+			final BufferedImage frame = prerenderer.getFrame(slide);
+			// keeps the next slides rendered ahead of the show
+			prefetchUpcomingSlides();
+			// displays the slide at the specified time
+			SwingUtilities.invokeLater(new Runnable() {
+				public void run() {
+					slideDisplay.showFrame(frame);
+					displayDrift.record(System.nanoTime() - dueNanos);
+				}
+			});
+		}
+
+		public void showFinished() {
+			// when reaching the end of the slide show (no slides any more)
+			SwingUtilities.invokeLater(new Runnable() {
+				public void run() {
+					// restores the display after the last slide has been shown
+					Timer restore = new Timer(LAST_SLIDE_MILLIS, new ActionListener() {
+						public void actionPerformed(ActionEvent e) {
+							slideDisplay.showFrame(prerenderer.render(IDLE_TEXT));
 						}
-					// when reaching the end of the slide show (no slides any more)
-					} catch (NullPointerException npe) {
-						// stops the timer
-						timer.stop();
-						// restores the display
-						slideDisplay.setText("Slideshow Appears Here!");
-						// resets the time
-						time = 0;
-					}
+					});
+					restore.setRepeats(false);
+					restore.start();
 				}
 			});
-			// starts the timer
-			timer.start();
 		}
 	}
 }
@@ -1,20 +1,44 @@
+import java.util.Iterator;
+import java.util.List;
+
 /**
- * A SlideShowQueue is a priority queue that can at most store 10 Slide objects.
+ * A SlideShowQueue is a priority queue of Slide objects of any size. It also
+ * keeps an OccupancyIndex of the slide times, so whether a time is taken, the
+ * next free time and the number of slides in a range of times are answered
+ * without walking the queue. Slides must be added and removed through the
+ * SlideShowQueue, not through getSlidesQueue(), to keep the index right and
+ * to tell the SlideQueueListener, if one is set.
  * 
  * @author Xueying Xu (Shirley)
  */
 public class SlideShowQueue {
 
 	private PriorityQueueBH<Slide> slidesQueue;
+	// the times of the queued slides
+	private final OccupancyIndex occupancy = new OccupancyIndex();
+	// told about every slide added or taken out, or null
+	private SlideQueueListener listener;
 
-	/** The capacity of a priority queue for Slides **/
-	public static final int MAXIMUM_LENGTH = 10;
+	/** The initial capacity of a priority queue for Slides; it grows as needed **/
+	public static final int INITIAL_CAPACITY = 16;
 
 	/**
-	 * Constructs a SlideShowQueue that can store 10 Slides.
+	 * Constructs an empty SlideShowQueue.
 	 */
 	public SlideShowQueue() {
-		slidesQueue = new PriorityQueueBH(MAXIMUM_LENGTH);
+		slidesQueue = new PriorityQueueBH(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Constructs a SlideShowQueue around an existing priority queue of Slides.
+	 * 
+	 * @param slidesQueue
+	 */
+	public SlideShowQueue(PriorityQueueBH<Slide> slidesQueue) {
+		this.slidesQueue = slidesQueue;
+		for (int i = 0; i < slidesQueue.getSize(); i++) {
+			occupancy.add(slidesQueue.getElement(i).getSlideTime());
+		}
 	}
 
 	/**
@@ -23,9 +47,13 @@ public class SlideShowQueue {
 	 * @param slideText
 	 * @param slideTime
 	 */
-	public void addSlide(String slideText, Integer slideTime) {
+	public void addSlide(String slideText, long slideTime) {
 		Slide newSlide = new Slide(slideText, slideTime);
 		slidesQueue.insert(newSlide);
+		occupancy.add(slideTime);
+		if (listener != null) {
+			listener.slideAdded(newSlide);
+		}
 	}
 
 	/**
@@ -35,7 +63,64 @@ public class SlideShowQueue {
 	 * @return the Slide of the highest priority
 	 */
 	public Slide displaySlide() {
-		return slidesQueue.extractMaximum();
+		Slide slide = slidesQueue.extractMaximum();
+		if (slide != null) {
+			occupancy.remove(slide.getSlideTime());
+			if (listener != null) {
+				listener.slideRemoved(slide);
+			}
+		}
+		return slide;
+	}
+
+	/**
+	 * Returns true if a queued Slide has the given time. Takes O(1).
+	 * 
+	 * @param slideTime
+	 * @return true if the time is taken by a queued Slide
+	 */
+	public boolean hasSlideAt(long slideTime) {
+		return occupancy.isTaken(slideTime);
+	}
+
+	/**
+	 * Returns the smallest time at or after the given time that no queued Slide
+	 * has.
+	 * 
+	 * @param slideTime
+	 * @return the next free time
+	 */
+	public long nextFreeTime(long slideTime) {
+		return occupancy.nextFree(slideTime);
+	}
+
+	/**
+	 * Returns the number of queued Slides whose time is in [from, to).
+	 * 
+	 * @param from
+	 * @param to
+	 * @return the number of Slides in the range
+	 */
+	public int countSlidesIn(long from, long to) {
+		return occupancy.slidesIn(from, to);
+	}
+
+	/**
+	 * Returns the queued Slides whose time is in [from, to), in the order of
+	 * display, as a view of sortedSlides() found by binary search. It takes
+	 * O(log n) while the queue is unchanged, plus the cost of sortedSlides()
+	 * after a change.
+	 * 
+	 * @param from
+	 * @param to
+	 * @return the Slides in the range in the order of display
+	 */
+	public List<Slide> slidesIn(long from, long to) {
+		List<Slide> sorted = sortedSlides();
+		if (from >= to) {
+			return sorted.subList(0, 0);
+		}
+		return sorted.subList(firstAtOrAfter(sorted, from), firstAtOrAfter(sorted, to));
 	}
 
 	/**
@@ -47,6 +132,91 @@ public class SlideShowQueue {
 		return slidesQueue.maximum();
 	}
 
+	/**
+	 * Peeks the next n Slides in the order of display without removing them.
+	 * 
+	 * @param n
+	 * @return up to n Slides in the order of display
+	 */
+	public List<Slide> peekSlides(int n) {
+		return slidesQueue.peekFirst(n);
+	}
+
+	/**
+	 * Returns all the Slides in the order of display without removing them. The
+	 * list is cached until the queue changes.
+	 * 
+	 * @return the Slides in the order of display
+	 */
+	public List<Slide> sortedSlides() {
+		return slidesQueue.sortedView();
+	}
+
+	/**
+	 * Returns an iterator over the Slides in the order of display that leaves the
+	 * queue unchanged.
+	 * 
+	 * @return an iterator over the Slides in the order of display
+	 */
+	public Iterator<Slide> iterator() {
+		return slidesQueue.sortedIterator();
+	}
+
+	/**
+	 * Returns a copy of the queue, e.g. to replay the show after this queue has
+	 * been played. Copying takes O(n) and does not rebuild the heap.
+	 * 
+	 * @return a copy of the queue
+	 */
+	public SlideShowQueue snapshot() {
+		return new SlideShowQueue(slidesQueue.copy());
+	}
+
+	/**
+	 * Adds all the Slides of another queue to this queue, e.g. to replay a
+	 * snapshot. The other queue is not modified.
+	 * 
+	 * @param other
+	 */
+	public void addAll(SlideShowQueue other) {
+		slidesQueue.mergeFrom(other.slidesQueue);
+		occupancy.addAll(other.occupancy);
+		if (listener != null) {
+			for (int i = 0; i < other.slidesQueue.getSize(); i++) {
+				listener.slideAdded(other.slidesQueue.getElement(i));
+			}
+		}
+	}
+
+	/**
+	 * Sets the listener told about every Slide added to or taken out of the
+	 * queue, replacing the previous one. null removes it. A snapshot does not
+	 * keep the listener.
+	 * 
+	 * @param listener
+	 */
+	public void setListener(SlideQueueListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Returns the index of the first Slide of a sorted list whose time is at or
+	 * after the given time, or the size of the list if there is none.
+	 */
+	private static int firstAtOrAfter(List<Slide> sorted, long slideTime) {
+		int low = 0;
+		int high = sorted.size();
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (sorted.get(middle).getSlideTime() < slideTime) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
 	/**
 	 * Returns the PriorityQueueBH object.
 	 * 
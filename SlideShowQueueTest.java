@@ -0,0 +1,134 @@
+import static org.junit.Assert.*;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * SlideShowQueueTest is a JUnit testing class to test a deck of slides with
+ * millisecond times.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class SlideShowQueueTest {
+    protected SlideShowQueue slides;
+
+    @Before
+    public void init() {
+        slides = new SlideShowQueue();
+    }
+
+    @Test
+    public void largeDeckTest() {
+        // two hours of slides, one every 250 ms, added in reverse order
+        int count = 2 * 60 * 60 * 4;
+        for (int i = count; i >= 1; i--) {
+            slides.addSlide("Slide " + i, i * 250L);
+        }
+        assertEquals(count, slides.getPQSize());
+        List<Slide> sorted = slides.sortedSlides();
+        assertEquals(250L, sorted.get(0).getSlideTime());
+        assertEquals(count * 250L, sorted.get(count - 1).getSlideTime());
+        assertEquals("Slide 1", slides.displaySlide().getSlideText());
+        assertEquals(500L, slides.peekSlide().getSlideTime());
+    }
+
+    @Test
+    public void hasSlideAtTest() {
+        slides.addSlide("long time", 5000000000L);
+        slides.addSlide("first", 1500);
+        slides.addSlide("again", 1500);
+        assertTrue(slides.hasSlideAt(1500));
+        assertTrue(slides.hasSlideAt(5000000000L));
+        assertFalse(slides.hasSlideAt(1501));
+        slides.displaySlide();
+        // one slide at 1500 ms is still queued
+        assertTrue(slides.hasSlideAt(1500));
+        slides.displaySlide();
+        assertFalse(slides.hasSlideAt(1500));
+        // the counts follow a replayed snapshot
+        SlideShowQueue replay = new SlideShowQueue();
+        replay.addAll(slides.snapshot());
+        assertTrue(replay.hasSlideAt(5000000000L));
+    }
+
+    @Test
+    public void nextFreeTimeTest() {
+        slides.addSlide("a", 1000);
+        slides.addSlide("b", 1001);
+        slides.addSlide("c", 1003);
+        assertEquals(1002L, slides.nextFreeTime(1000));
+        assertEquals(1004L, slides.nextFreeTime(1003));
+        assertEquals(999L, slides.nextFreeTime(999));
+        // across the end of the dense range and beyond it
+        long limit = OccupancyIndex.DENSE_LIMIT;
+        slides.addSlide("d", limit - 1);
+        slides.addSlide("e", limit);
+        slides.addSlide("f", limit + 1);
+        assertEquals(limit + 2, slides.nextFreeTime(limit - 1));
+        slides.displaySlide();
+        assertEquals(1000L, slides.nextFreeTime(1000));
+    }
+
+    @Test
+    public void countSlidesInTest() {
+        slides.addSlide("a", 1000);
+        slides.addSlide("b", 1000);
+        slides.addSlide("c", 2000);
+        slides.addSlide("d", 5000000000L);
+        assertEquals(2, slides.countSlidesIn(0, 2000));
+        assertEquals(3, slides.countSlidesIn(1000, 2001));
+        assertEquals(4, slides.countSlidesIn(0, Long.MAX_VALUE));
+        assertEquals(0, slides.countSlidesIn(2001, 5000000000L));
+        assertEquals(0, slides.countSlidesIn(2000, 1000));
+        slides.displaySlide();
+        assertEquals(1, slides.countSlidesIn(0, 2000));
+    }
+
+    @Test
+    public void countLargeDenseRangeTest() {
+        // a range over the whole dense part holds few slides
+        slides.addSlide("a", 0);
+        slides.addSlide("b", OccupancyIndex.DENSE_LIMIT - 1);
+        slides.addSlide("c", OccupancyIndex.DENSE_LIMIT - 1);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(3, slides.countSlidesIn(0, OccupancyIndex.DENSE_LIMIT));
+        }
+        assertEquals(1, slides.countSlidesIn(0, OccupancyIndex.DENSE_LIMIT - 1));
+        assertEquals(3, slides.countSlidesIn(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void nextFreeTimeAtEndTest() {
+        slides.addSlide("last", Long.MAX_VALUE);
+        slides.addSlide("before last", Long.MAX_VALUE - 1);
+        assertEquals(Long.MAX_VALUE - 2, slides.nextFreeTime(Long.MAX_VALUE - 2));
+        try {
+            slides.nextFreeTime(Long.MAX_VALUE - 1);
+            fail("a time after Long.MAX_VALUE was returned");
+        } catch (IllegalStateException expected) {
+            // every time from Long.MAX_VALUE - 1 on is taken
+        }
+        // a run of negative times continues into the dense range
+        slides.addSlide("minus one", -1);
+        slides.addSlide("zero", 0);
+        assertEquals(1L, slides.nextFreeTime(-1));
+    }
+
+    @Test
+    public void slidesInTest() {
+        slides.addSlide("c", 2000);
+        slides.addSlide("a", 1000);
+        slides.addSlide("b", 1000);
+        slides.addSlide("d", 5000000000L);
+        List<Slide> range = slides.slidesIn(1000, 2001);
+        assertEquals(3, range.size());
+        assertEquals("a", range.get(0).getSlideText());
+        assertEquals("b", range.get(1).getSlideText());
+        assertEquals("c", range.get(2).getSlideText());
+        assertEquals(slides.countSlidesIn(0, 2000), slides.slidesIn(0, 2000).size());
+        assertEquals("d", slides.slidesIn(2001, Long.MAX_VALUE).get(0).getSlideText());
+        assertTrue(slides.slidesIn(2001, 5000000000L).isEmpty());
+        assertTrue(slides.slidesIn(2000, 1000).isEmpty());
+    }
+}
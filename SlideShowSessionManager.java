@@ -0,0 +1,229 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SlideShowSessionManager hosts many independent slide shows, e.g. one per
+ * connected kiosk, and plays all of them on a small shared pool of scheduler
+ * threads. A session owns a SlideShowQueue and a SlideShowEngine that the
+ * manager drives in virtual time: for every session only the wake-up of its
+ * next slide is scheduled, so a session costs its queue plus one pending task,
+ * and the number of threads does not grow with the number of sessions.
+ *
+ * How late the slides of all sessions are shown is recorded in one shared
+ * DriftHistogram (see getDriftHistogram).
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class SlideShowSessionManager {
+
+	private final ScheduledExecutorService scheduler;
+	private final Map<Long, Session> sessions = new ConcurrentHashMap<Long, Session>();
+	private final AtomicLong nextId = new AtomicLong();
+	// how late the slides of all sessions are shown
+	private final DriftHistogram drift = new DriftHistogram("session dispatch");
+
+	/**
+	 * Constructs a manager that plays its sessions on the given number of threads.
+	 * 
+	 * @param threads
+	 */
+	public SlideShowSessionManager(int threads) {
+		this(createScheduler(threads));
+	}
+
+	/**
+	 * Constructs a manager that plays its sessions on the given scheduler, e.g.
+	 * one shared with other work. The manager shuts it down in shutdown().
+	 * 
+	 * @param scheduler
+	 */
+	public SlideShowSessionManager(ScheduledExecutorService scheduler) {
+		this.scheduler = scheduler;
+	}
+
+	private static ScheduledExecutorService createScheduler(int threads) {
+		final AtomicInteger count = new AtomicInteger();
+		return Executors.newScheduledThreadPool(threads, new ThreadFactory() {
+			public Thread newThread(Runnable task) {
+				Thread thread = new Thread(task, "slide-show-session-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Creates a session that plays the given queue once it is started.
+	 * 
+	 * @param queue
+	 * @param millisPerTimeUnit
+	 * @return the new session
+	 */
+	public Session createSession(SlideShowQueue queue, long millisPerTimeUnit) {
+		final Session session = new Session(nextId.getAndIncrement(), new SlideShowEngine(queue, millisPerTimeUnit));
+		session.engine.addListener(new SlideShowListener() {
+			public void slideShown(Slide slide, long dueMillis) {
+				drift.record(System.nanoTime() - session.startNanos - TimeUnit.MILLISECONDS.toNanos(dueMillis));
+			}
+
+			public void showFinished() {
+			}
+		});
+		sessions.put(session.id, session);
+		return session;
+	}
+
+	/**
+	 * Returns the histogram of how late the slides of all sessions were shown,
+	 * measured from the moment they were due.
+	 * 
+	 * @return the drift histogram of the sessions
+	 */
+	public DriftHistogram getDriftHistogram() {
+		return drift;
+	}
+
+	/**
+	 * Returns the session with the given id, or null.
+	 * 
+	 * @param id
+	 * @return the session, or null
+	 */
+	public Session getSession(long id) {
+		return sessions.get(id);
+	}
+
+	/**
+	 * Returns the number of sessions that have not finished or been closed.
+	 * 
+	 * @return the number of sessions
+	 */
+	public int getSessionCount() {
+		return sessions.size();
+	}
+
+	/**
+	 * Stops all sessions and the scheduler threads.
+	 */
+	public void shutdown() {
+		scheduler.shutdownNow();
+		sessions.clear();
+	}
+
+	/**
+	 * A slide show played by the manager.
+	 */
+	public class Session implements Runnable {
+		private final long id;
+		private final SlideShowEngine engine;
+		private volatile long startNanos;
+		// the pending wake-up, guarded by the lock of the session
+		private ScheduledFuture<?> wakeUp;
+		private boolean closed;
+
+		private Session(long id, SlideShowEngine engine) {
+			this.id = id;
+			this.engine = engine;
+		}
+
+		/**
+		 * Returns the id of the session.
+		 * 
+		 * @return the id of the session
+		 */
+		public long getId() {
+			return id;
+		}
+
+		/**
+		 * Returns the engine of the session, e.g. to add listeners or slides.
+		 * 
+		 * @return the engine of the session
+		 */
+		public SlideShowEngine getEngine() {
+			return engine;
+		}
+
+		/**
+		 * Returns System.nanoTime() at the start of the show.
+		 * 
+		 * @return the start of the show in nanoseconds
+		 */
+		public long getStartNanos() {
+			return startNanos;
+		}
+
+		/**
+		 * Starts the show at position 0.
+		 */
+		public synchronized void start() {
+			startNanos = System.nanoTime();
+			scheduleNext();
+		}
+
+		/**
+		 * Reschedules the session after slides were added to a running show.
+		 */
+		public synchronized void slidesChanged() {
+			scheduleNext();
+		}
+
+		/**
+		 * Stops the show and removes the session from the manager.
+		 */
+		public synchronized void close() {
+			closed = true;
+			if (wakeUp != null) {
+				wakeUp.cancel(false);
+				wakeUp = null;
+			}
+			sessions.remove(id);
+		}
+
+		/**
+		 * Shows every slide due by now and schedules the next wake-up.
+		 */
+		public synchronized void run() {
+			if (closed) {
+				return;
+			}
+			long position = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+			engine.advanceTo(Math.max(position, engine.getPosition()));
+			scheduleNext();
+		}
+
+		/**
+		 * Replaces the pending wake-up with one for the next slide, or removes the
+		 * session once its show has finished. Called with the lock of the session
+		 * held, so a session never has more than one wake-up pending.
+		 */
+		private void scheduleNext() {
+			if (closed) {
+				return;
+			}
+			if (wakeUp != null) {
+				wakeUp.cancel(false);
+				wakeUp = null;
+			}
+			long next = engine.nextDueMillis();
+			if (next < 0) {
+				// the show has finished; a session started without slides has not
+				// told its listeners yet, which advancing by 0 ms does
+				sessions.remove(id);
+				engine.advanceBy(0);
+				return;
+			}
+			// a finished session that was given new slides plays again
+			sessions.put(id, this);
+			long delay = startNanos + TimeUnit.MILLISECONDS.toNanos(next) - System.nanoTime();
+			wakeUp = scheduler.schedule(this, Math.max(0, delay), TimeUnit.NANOSECONDS);
+		}
+	}
+}
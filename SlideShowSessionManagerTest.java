@@ -0,0 +1,154 @@
+import static org.junit.Assert.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * SlideShowSessionManagerTest is a JUnit testing class to test sessions played
+ * on a shared scheduler, with slide times of a few milliseconds.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class SlideShowSessionManagerTest {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    protected ScheduledThreadPoolExecutor scheduler;
+    protected SlideShowSessionManager manager;
+
+    @Before
+    public void init() {
+        scheduler = new ScheduledThreadPoolExecutor(2);
+        // cancelled wake-ups leave the queue, so it only holds pending ones
+        scheduler.setRemoveOnCancelPolicy(true);
+        manager = new SlideShowSessionManager(scheduler);
+    }
+
+    @After
+    public void cleanUp() {
+        manager.shutdown();
+    }
+
+    /**
+     * A listener that counts the events of a session.
+     */
+    private static class CountingListener implements SlideShowListener {
+        final AtomicInteger shown = new AtomicInteger();
+        final AtomicInteger finishedCount = new AtomicInteger();
+        final CountDownLatch finished = new CountDownLatch(1);
+
+        public void slideShown(Slide slide, long dueMillis) {
+            shown.incrementAndGet();
+        }
+
+        public void showFinished() {
+            finishedCount.incrementAndGet();
+            finished.countDown();
+        }
+    }
+
+    /**
+     * Waits until the manager has the given number of sessions; a session is
+     * removed right after its listeners are told that the show has finished.
+     */
+    private void awaitSessionCount(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_SECONDS * 1000;
+        while (manager.getSessionCount() != count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(count, manager.getSessionCount());
+    }
+
+    @Test
+    public void playTest() throws InterruptedException {
+        SlideShowQueue queue = new SlideShowQueue();
+        queue.addSlide("first", 5);
+        queue.addSlide("second", 10);
+        queue.addSlide("third", 10);
+        SlideShowSessionManager.Session session = manager.createSession(queue, 1);
+        CountingListener listener = new CountingListener();
+        session.getEngine().addListener(listener);
+        assertEquals(1, manager.getSessionCount());
+        session.start();
+        assertTrue(listener.finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(3, listener.shown.get());
+        assertEquals(1, listener.finishedCount.get());
+        awaitSessionCount(0);
+        assertEquals(3, manager.getDriftHistogram().getCount());
+    }
+
+    @Test
+    public void emptySessionTest() throws InterruptedException {
+        SlideShowSessionManager.Session session = manager.createSession(new SlideShowQueue(), 1);
+        CountingListener listener = new CountingListener();
+        session.getEngine().addListener(listener);
+        session.start();
+        // an empty show finishes right away, and its listeners are told
+        assertTrue(listener.finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(0, listener.shown.get());
+        assertEquals(1, listener.finishedCount.get());
+        assertNull(manager.getSession(session.getId()));
+    }
+
+    @Test
+    public void slidesChangedTest() throws InterruptedException {
+        SlideShowQueue queue = new SlideShowQueue();
+        // an hour from now, so the wake-up stays pending during the test
+        queue.addSlide("later", 3600000);
+        final SlideShowSessionManager.Session session = manager.createSession(queue, 1);
+        session.start();
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(new Runnable() {
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 1000; i++) {
+                        session.slidesChanged();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TIMEOUT_SECONDS * 1000);
+        }
+        // concurrent reschedules leave exactly one wake-up, which close cancels
+        assertEquals(1, scheduler.getQueue().size());
+        session.close();
+        assertEquals(0, scheduler.getQueue().size());
+        assertEquals(0, manager.getSessionCount());
+    }
+
+    @Test
+    public void addSlidesAfterFinishTest() throws InterruptedException {
+        SlideShowQueue queue = new SlideShowQueue();
+        queue.addSlide("first", 1);
+        SlideShowSessionManager.Session session = manager.createSession(queue, 1);
+        CountingListener listener = new CountingListener();
+        session.getEngine().addListener(listener);
+        session.start();
+        assertTrue(listener.finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        awaitSessionCount(0);
+        // a finished session takes new slides and is counted again; the encore is
+        // an hour away so it cannot play and finish the session before the check
+        session.getEngine().addSlide("encore", session.getEngine().getPosition() + 3600000);
+        session.slidesChanged();
+        assertEquals(1, manager.getSessionCount());
+        assertEquals(1, listener.shown.get());
+        session.close();
+        assertEquals(0, manager.getSessionCount());
+    }
+}
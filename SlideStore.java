@@ -0,0 +1,166 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * SlideStore keeps a deck of slides without one object per slide. The times
+ * are kept in a primitive array and the texts are encoded as UTF-8 one after
+ * another in a single direct (off-heap) ByteBuffer, so a deck costs a few bytes
+ * per slide on the Java heap and gives the garbage collector nothing to trace.
+ *
+ * Every slide gets an int id (0, 1, 2, ...) that callers keep instead of a
+ * Slide reference. The store is append-only; the text arena is limited to 2 GB.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class SlideStore {
+	// the largest direct buffer the arena can grow to
+	private static final int MAX_ARENA_CAPACITY = Integer.MAX_VALUE - 8;
+
+	// times[id] is the time of slide id
+	private long[] times;
+	// sequences[id] is the sequence number of slide id, which getSlide keeps
+	private long[] sequences;
+	// the text of slide id is textLengths[id] bytes starting at textOffsets[id]
+	private int[] textOffsets;
+	private int[] textLengths;
+	// UTF-8 encoded texts of all slides
+	private ByteBuffer arena;
+	// number of slides in the store
+	private int size;
+
+	/**
+	 * Constructs an empty store sized for the given number of slides with the
+	 * given number of text bytes. Both grow on demand.
+	 *
+	 * @param slideCapacity
+	 * @param textCapacity
+	 */
+	public SlideStore(int slideCapacity, int textCapacity) {
+		times = new long[slideCapacity];
+		sequences = new long[slideCapacity];
+		textOffsets = new int[slideCapacity];
+		textLengths = new int[slideCapacity];
+		arena = ByteBuffer.allocateDirect(textCapacity);
+	}
+
+	/**
+	 * Adds a slide to the store.
+	 *
+	 * @param slideText
+	 * @param slideTime
+	 * @return the id of the new slide
+	 */
+	public int add(String slideText, long slideTime) {
+		byte[] encoded = slideText.getBytes(StandardCharsets.UTF_8);
+		if (size == times.length) {
+			int newCapacity = Math.max(size + 1, (int) (size * BinaryHeap.DEFAULT_GROWTH_FACTOR));
+			times = Arrays.copyOf(times, newCapacity);
+			sequences = Arrays.copyOf(sequences, newCapacity);
+			textOffsets = Arrays.copyOf(textOffsets, newCapacity);
+			textLengths = Arrays.copyOf(textLengths, newCapacity);
+		}
+		if (encoded.length > arena.remaining()) {
+			growArena(encoded.length);
+		}
+		int id = size++;
+		times[id] = slideTime;
+		sequences[id] = Slide.reserveSequences(1);
+		textOffsets[id] = arena.position();
+		textLengths[id] = encoded.length;
+		arena.put(encoded);
+		return id;
+	}
+
+	/**
+	 * Returns the time of a slide.
+	 *
+	 * @param id
+	 * @return the time of the slide
+	 */
+	public long getTime(int id) {
+		checkId(id);
+		return times[id];
+	}
+
+	/**
+	 * Returns the text of a slide, decoded from the arena.
+	 *
+	 * @param id
+	 * @return the text of the slide
+	 */
+	public String getText(int id) {
+		checkId(id);
+		byte[] encoded = new byte[textLengths[id]];
+		ByteBuffer view = arena.duplicate();
+		view.position(textOffsets[id]);
+		view.get(encoded);
+		return new String(encoded, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns a slide as a Slide object. Every Slide of the same id has the same
+	 * sequence number, given out when the slide was added, so slides with the
+	 * same time keep the order in which they were added.
+	 *
+	 * @param id
+	 * @return the slide
+	 */
+	public Slide getSlide(int id) {
+		return new Slide(getText(id), getTime(id), sequences[id]);
+	}
+
+	/**
+	 * Returns the number of slides in the store.
+	 *
+	 * @return the number of slides
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of off-heap bytes used by the texts.
+	 *
+	 * @return the number of text bytes
+	 */
+	public int textBytes() {
+		return arena.position();
+	}
+
+	/**
+	 * Returns the number of off-heap bytes reserved for the texts.
+	 *
+	 * @return the capacity of the text arena
+	 */
+	public int textCapacity() {
+		return arena.capacity();
+	}
+
+	/**
+	 * Removes all slides. Ids given out before become invalid.
+	 */
+	public void clear() {
+		size = 0;
+		arena.clear();
+	}
+
+	private void growArena(int needed) {
+		long required = (long) arena.position() + needed;
+		if (required > MAX_ARENA_CAPACITY) {
+			throw new IllegalStateException("The slide texts exceed the 2 GB arena.");
+		}
+		long newCapacity = Math.max(required,
+				Math.min(MAX_ARENA_CAPACITY, (long) (arena.capacity() * BinaryHeap.DEFAULT_GROWTH_FACTOR)));
+		ByteBuffer grown = ByteBuffer.allocateDirect((int) newCapacity);
+		arena.flip();
+		grown.put(arena);
+		arena = grown;
+	}
+
+	private void checkId(int id) {
+		if (id < 0 || id >= size) {
+			throw new IndexOutOfBoundsException("No slide with id " + id);
+		}
+	}
+}
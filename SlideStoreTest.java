@@ -0,0 +1,85 @@
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * SlideStoreTest is a JUnit testing class to test the off-heap slide store.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class SlideStoreTest {
+    protected SlideStore store;
+
+    @Before
+    public void init() {
+        store = new SlideStore(1, 4);
+    }
+
+    @Test
+    public void addAndGetTest() {
+        assertEquals(0, store.add("first", 1000));
+        assertEquals(1, store.add("", 2000));
+        assertEquals(2, store.add("Gr\u00fc\u00dfe, \u4e16\u754c \ud83c\udf9e", 5000000000L));
+        assertEquals(3, store.size());
+        assertEquals("first", store.getText(0));
+        assertEquals("", store.getText(1));
+        assertEquals("Gr\u00fc\u00dfe, \u4e16\u754c \ud83c\udf9e", store.getText(2));
+        assertEquals(5000000000L, store.getTime(2));
+        Slide slide = store.getSlide(0);
+        assertEquals("first", slide.getSlideText());
+        assertEquals(1000L, slide.getSlideTime());
+    }
+
+    @Test
+    public void equalTimesTest() {
+        // slides with the same time keep the order in which they were added
+        store.add("first", 1000);
+        store.add("second", 1000);
+        Slide second = store.getSlide(1);
+        Slide first = store.getSlide(0);
+        assertTrue(first.compareTo(second) > 0);
+        assertEquals(0, first.compareTo(store.getSlide(0)));
+    }
+
+    @Test
+    public void growTest() {
+        // 1000 slides in a store sized for one slide with four text bytes
+        int bytes = 0;
+        for (int i = 0; i < 1000; i++) {
+            String text = "Slide number " + i;
+            bytes += text.length();
+            assertEquals(i, store.add(text, i));
+        }
+        assertEquals(1000, store.size());
+        assertEquals(bytes, store.textBytes());
+        assertTrue(store.textCapacity() >= bytes);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("Slide number " + i, store.getText(i));
+            assertEquals(i, store.getTime(i));
+        }
+    }
+
+    @Test
+    public void growEmptyArenaTest() {
+        SlideStore empty = new SlideStore(0, 0);
+        empty.add("a text longer than the arena", 1);
+        assertEquals("a text longer than the arena", empty.getText(0));
+    }
+
+    @Test
+    public void clearTest() {
+        store.add("first", 1000);
+        store.clear();
+        assertEquals(0, store.size());
+        assertEquals(0, store.textBytes());
+        assertEquals(0, store.add("again", 2000));
+        assertEquals("again", store.getText(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void unknownIdTest() {
+        store.add("first", 1000);
+        store.getText(1);
+    }
+}
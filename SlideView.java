@@ -0,0 +1,41 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * SlideView displays a pre-rendered slide frame. Showing a slide only replaces
+ * the image and repaints, which is a single image copy.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class SlideView extends JComponent {
+
+	private BufferedImage frame;
+
+	/**
+	 * Constructs an empty view of the given size.
+	 *
+	 * @param width
+	 * @param height
+	 */
+	public SlideView(int width, int height) {
+		setPreferredSize(new Dimension(width, height));
+		setBorder(BorderFactory.createLineBorder(Color.BLACK));
+	}
+
+	/**
+	 * Shows a frame. Must be called on the event dispatch thread.
+	 *
+	 * @param frame
+	 */
+	public void showFrame(BufferedImage frame) {
+		this.frame = frame;
+		repaint();
+	}
+
+	protected void paintComponent(Graphics g) {
+		if (frame != null) {
+			g.drawImage(frame, 0, 0, null);
+		}
+	}
+}
@@ -0,0 +1,224 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * StreamingDeckLoader reads a deck from a line-oriented file and feeds it into a
+ * SlideShowQueue while the show is already playing. Every line holds one slide
+ * as its time, a tab and its text; blank lines and lines starting with '#' are
+ * skipped.
+ *
+ * The loader keeps at most a given number of slides (and bytes of slide data)
+ * in the queue. When either budget is used up, reading blocks until slides are
+ * taken out with displaySlide or takeSlide, so memory stays bounded no matter
+ * how large the file is. Because only a window of the deck is in the queue at a
+ * time, the file should list the slides in (roughly) time order.
+ *
+ * All access to the queue must go through the loader while it is running.
+ *
+ * The loader is used on its own, by players that pull slides with takeSlide,
+ * and is not wired into SlideShowEngine or SlideShowPanel: the engine takes
+ * shown slides straight out of its queue and finishes the show when the queue
+ * is empty, and the panel lists and replays the whole deck, which both need
+ * the deck to be in memory at once.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class StreamingDeckLoader implements Runnable {
+
+	/** Estimated bytes used by a slide besides its text (objects and references) **/
+	public static final int SLIDE_OVERHEAD = 64;
+
+	private final BufferedReader in;
+	private final SlideShowQueue queue;
+	private final int maxQueuedSlides;
+	private final long maxQueuedBytes;
+	// estimated bytes used by the slides in the queue
+	private long queuedBytes;
+	private long slidesRead;
+	private boolean finished;
+	private IOException error;
+
+	/**
+	 * Constructs a loader that reads slides from in into queue, keeping at most
+	 * maxQueuedSlides slides and maxQueuedBytes bytes of slide data queued.
+	 *
+	 * @param in
+	 * @param queue
+	 * @param maxQueuedSlides
+	 * @param maxQueuedBytes
+	 */
+	public StreamingDeckLoader(Reader in, SlideShowQueue queue, int maxQueuedSlides, long maxQueuedBytes) {
+		if (maxQueuedSlides < 1 || maxQueuedBytes < 1) {
+			throw new IllegalArgumentException("The budgets of a loader must be positive.");
+		}
+		this.in = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in, 1 << 16);
+		this.queue = queue;
+		this.maxQueuedSlides = maxQueuedSlides;
+		this.maxQueuedBytes = maxQueuedBytes;
+	}
+
+	/**
+	 * Starts loading on a new daemon thread.
+	 *
+	 * @return the loading thread
+	 */
+	public Thread start() {
+		Thread loader = new Thread(this, "deck-loader");
+		loader.setDaemon(true);
+		loader.start();
+		return loader;
+	}
+
+	/**
+	 * Reads the whole file, blocking whenever the queue is over budget. Stops at
+	 * the first malformed line; see getError().
+	 */
+	public void run() {
+		int lineNumber = 0;
+		try {
+			String line;
+			while ((line = in.readLine()) != null) {
+				lineNumber++;
+				if (line.isEmpty() || line.charAt(0) == '#') {
+					continue;
+				}
+				int tab = line.indexOf('\t');
+				if (tab < 0) {
+					throw new IOException("Line " + lineNumber + ": expected a time and a text separated by a tab.");
+				}
+				long time;
+				try {
+					time = Long.parseLong(line.substring(0, tab).trim());
+				} catch (NumberFormatException nfe) {
+					throw new IOException("Line " + lineNumber + ": not a valid time.", nfe);
+				}
+				add(line.substring(tab + 1), time);
+			}
+		} catch (IOException e) {
+			fail(e);
+		} catch (InterruptedException e) {
+			fail(new IOException("Loading was interrupted at line " + lineNumber + ".", e));
+			Thread.currentThread().interrupt();
+		} finally {
+			try {
+				in.close();
+			} catch (IOException e) {
+				// the deck has been read; nothing is lost
+			}
+			synchronized (this) {
+				finished = true;
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Adds a slide once the queue has room for it. An empty queue always takes a
+	 * slide, so a single slide larger than the byte budget cannot stall loading.
+	 */
+	private synchronized void add(String text, long time) throws InterruptedException {
+		long bytes = estimateBytes(text);
+		while (queue.getPQSize() > 0
+				&& (queue.getPQSize() >= maxQueuedSlides || queuedBytes + bytes > maxQueuedBytes)) {
+			wait();
+		}
+		queue.addSlide(text, time);
+		queuedBytes += bytes;
+		slidesRead++;
+		notifyAll();
+	}
+
+	private synchronized void fail(IOException e) {
+		error = e;
+	}
+
+	/**
+	 * Removes and returns the slide of the highest priority, making room for the
+	 * loader. Returns null if no slide is queued at the moment.
+	 *
+	 * @return the slide of the highest priority, or null
+	 */
+	public synchronized Slide displaySlide() {
+		Slide slide = queue.displaySlide();
+		if (slide != null) {
+			queuedBytes -= estimateBytes(slide.getSlideText());
+			notifyAll();
+		}
+		return slide;
+	}
+
+	/**
+	 * Removes and returns the slide of the highest priority, waiting for the
+	 * loader if no slide is queued. Returns null once the whole deck has been
+	 * read and displayed.
+	 *
+	 * @return the slide of the highest priority, or null at the end of the deck
+	 * @throws InterruptedException
+	 */
+	public synchronized Slide takeSlide() throws InterruptedException {
+		while (queue.getPQSize() == 0 && !finished) {
+			wait();
+		}
+		return displaySlide();
+	}
+
+	/**
+	 * Peeks the slide of the highest priority currently queued.
+	 *
+	 * @return the slide of the highest priority, or null
+	 */
+	public synchronized Slide peekSlide() {
+		return queue.peekSlide();
+	}
+
+	/**
+	 * Returns the number of slides currently queued.
+	 *
+	 * @return the number of queued slides
+	 */
+	public synchronized int getQueuedSlides() {
+		return queue.getPQSize();
+	}
+
+	/**
+	 * Returns the estimated bytes used by the slides currently queued.
+	 *
+	 * @return the estimated queued bytes
+	 */
+	public synchronized long getQueuedBytes() {
+		return queuedBytes;
+	}
+
+	/**
+	 * Returns the number of slides read from the file so far.
+	 *
+	 * @return the number of slides read
+	 */
+	public synchronized long getSlidesRead() {
+		return slidesRead;
+	}
+
+	/**
+	 * Returns true once the loader has stopped reading, at the end of the file or
+	 * because of an error.
+	 *
+	 * @return true once loading has finished
+	 */
+	public synchronized boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * Returns the error that stopped loading, or null.
+	 *
+	 * @return the error that stopped loading, or null
+	 */
+	public synchronized IOException getError() {
+		return error;
+	}
+
+	private static long estimateBytes(String text) {
+		return SLIDE_OVERHEAD + 2L * text.length();
+	}
+}
@@ -0,0 +1,117 @@
+import static org.junit.Assert.*;
+import java.io.StringReader;
+import org.junit.Test;
+
+/**
+ * StreamingDeckLoaderTest is a JUnit testing class to test loading a deck while
+ * it is being played, within the budgets of the loader.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+
+public class StreamingDeckLoaderTest {
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    private static StreamingDeckLoader loader(String deck, int maxSlides, long maxBytes) {
+        return new StreamingDeckLoader(new StringReader(deck), new SlideShowQueue(), maxSlides, maxBytes);
+    }
+
+    /**
+     * Waits until the loader thread blocks or ends.
+     */
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TERMINATED) {
+            assertTrue("the loader did not block", System.currentTimeMillis() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void loadTest() throws InterruptedException {
+        StreamingDeckLoader deck = loader("# a deck\n3000\tthird\n\n1000\tfirst\n2000\tsecond\n", 10, 1 << 20);
+        deck.run();
+        assertTrue(deck.isFinished());
+        assertNull(deck.getError());
+        assertEquals(3, deck.getSlidesRead());
+        assertEquals("first", deck.takeSlide().getSlideText());
+        assertEquals("second", deck.takeSlide().getSlideText());
+        assertEquals("third", deck.takeSlide().getSlideText());
+        assertNull(deck.takeSlide());
+        assertEquals(0, deck.getQueuedBytes());
+    }
+
+    @Test
+    public void slideBudgetTest() throws InterruptedException {
+        StreamingDeckLoader deck = loader("1\ta\n2\tb\n3\tc\n4\td\n5\te\n", 2, 1 << 20);
+        Thread thread = deck.start();
+        awaitBlocked(thread);
+        // the loader stops at two queued slides until one is taken
+        assertEquals(2, deck.getSlidesRead());
+        assertEquals(2, deck.getQueuedSlides());
+        assertFalse(deck.isFinished());
+        assertEquals("a", deck.displaySlide().getSlideText());
+        for (String text : new String[] { "b", "c", "d", "e" }) {
+            assertEquals(text, deck.takeSlide().getSlideText());
+            assertTrue(deck.getQueuedSlides() <= 2);
+        }
+        assertNull(deck.takeSlide());
+        thread.join(TIMEOUT_MILLIS);
+        assertTrue(deck.isFinished());
+        assertEquals(5, deck.getSlidesRead());
+    }
+
+    @Test
+    public void byteBudgetTest() throws InterruptedException {
+        // room for exactly one slide of one character
+        long oneSlide = StreamingDeckLoader.SLIDE_OVERHEAD + 2;
+        StreamingDeckLoader deck = loader("1\ta\n2\tb\n", 10, oneSlide);
+        Thread thread = deck.start();
+        awaitBlocked(thread);
+        assertEquals(1, deck.getSlidesRead());
+        assertEquals(oneSlide, deck.getQueuedBytes());
+        assertEquals("a", deck.takeSlide().getSlideText());
+        assertEquals("b", deck.takeSlide().getSlideText());
+        assertNull(deck.takeSlide());
+    }
+
+    @Test
+    public void oversizedSlideTest() throws InterruptedException {
+        // a slide larger than the byte budget is still loaded into an empty queue
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append('x');
+        }
+        StreamingDeckLoader deck = loader("1\t" + text + "\n2\tsmall\n", 10, 100);
+        Thread thread = deck.start();
+        awaitBlocked(thread);
+        assertEquals(1, deck.getQueuedSlides());
+        assertTrue(deck.getQueuedBytes() > 100);
+        assertEquals(text.toString(), deck.takeSlide().getSlideText());
+        assertEquals("small", deck.takeSlide().getSlideText());
+        assertNull(deck.takeSlide());
+        assertNull(deck.getError());
+    }
+
+    @Test
+    public void invalidTimeTest() {
+        StreamingDeckLoader deck = loader("1\tfirst\n# comment\nsoon\tsecond\n4\tfourth\n", 10, 1 << 20);
+        deck.run();
+        assertTrue(deck.isFinished());
+        assertEquals("Line 3: not a valid time.", deck.getError().getMessage());
+        // the slides before the malformed line are kept
+        assertEquals(1, deck.getSlidesRead());
+    }
+
+    @Test
+    public void missingTabTest() {
+        StreamingDeckLoader deck = loader("1\tfirst\n2 second\n", 10, 1 << 20);
+        deck.run();
+        assertEquals("Line 2: expected a time and a text separated by a tab.", deck.getError().getMessage());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidBudgetTest() {
+        loader("", 0, 1);
+    }
+}
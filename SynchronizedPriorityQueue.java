@@ -0,0 +1,67 @@
+/**
+ * SynchronizedPriorityQueue makes any PriorityQueue thread-safe by guarding
+ * every operation with a single lock.
+ *
+ * @author Xueying Xu (Shirley)
+ * @param <T>
+ */
+public class SynchronizedPriorityQueue<T extends Comparable<T>> implements PriorityQueue<T> {
+
+	private final PriorityQueue<T> queue;
+
+	/**
+	 * Wraps the given priority queue. The queue must not be used directly
+	 * afterwards.
+	 *
+	 * @param queue
+	 */
+	public SynchronizedPriorityQueue(PriorityQueue<T> queue) {
+		this.queue = queue;
+	}
+
+	/**
+	 * Inserts a new element in the priority queue.
+	 *
+	 * @param element
+	 */
+	public synchronized void insert(T element) {
+		queue.insert(element);
+	}
+
+	/**
+	 * Returns (Peeks) the element with the highest priority.
+	 *
+	 * @return the element with the highest priority
+	 */
+	public synchronized T maximum() {
+		return queue.maximum();
+	}
+
+	/**
+	 * Removes and returns the element with the highest priority.
+	 *
+	 * @return the element with the highest priority
+	 */
+	public synchronized T extractMaximum() {
+		return queue.extractMaximum();
+	}
+
+	/**
+	 * Sets the element at specified index to a new, greater or equal element.
+	 *
+	 * @param index
+	 * @param element
+	 */
+	public synchronized void increaseValue(int index, T element) {
+		queue.increaseValue(index, element);
+	}
+
+	/**
+	 * Returns a String representation of the priority queue.
+	 *
+	 * @return a String representation of the priority queue
+	 */
+	public synchronized String toString() {
+		return queue.toString();
+	}
+}
@@ -0,0 +1,138 @@
+import java.util.Random;
+import heapbench.HeapOperations;
+
+/**
+ * HeapBenchmarkOperations does the work measured by heapbench.HeapBenchmark on
+ * the heaps of the default package.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public class HeapBenchmarkOperations implements HeapOperations {
+
+	public Comparable[] generate(String type, String distribution, int size) {
+		Random random = new Random(42);
+		int[] keys = new int[size];
+		for (int i = 0; i < size; i++) {
+			if (distribution.equals("random")) {
+				keys[i] = random.nextInt();
+			} else if (distribution.equals("sorted")) {
+				keys[i] = i;
+			} else if (distribution.equals("reverse")) {
+				keys[i] = size - i;
+			} else {
+				keys[i] = random.nextInt(16);
+			}
+		}
+		if (type.equals("Integer")) {
+			return BinaryHeap.convertToIntegerArray(keys);
+		}
+		Comparable[] slides = new Comparable[size];
+		for (int i = 0; i < size; i++) {
+			slides[i] = new Slide("Slide " + i, keys[i]);
+		}
+		return slides;
+	}
+
+	public Comparable[] probes(Comparable[] values, int count) {
+		Random random = new Random(7);
+		Comparable missing = values[0] instanceof Slide ? new Slide("missing", -1) : Integer.valueOf(-1);
+		Comparable[] probes = new Comparable[count];
+		for (int i = 0; i < count; i++) {
+			// half hits, half misses (a miss scans the whole heap)
+			probes[i] = (i & 1) == 0 ? values[random.nextInt(values.length)] : missing;
+		}
+		return probes;
+	}
+
+	public Object addElement(Comparable[] values) {
+		BinaryHeap heap = new BinaryHeap(values.length);
+		for (Comparable value : values) {
+			heap.addElement(value);
+		}
+		return heap;
+	}
+
+	public Object insert(Comparable[] values) {
+		PriorityQueueBH pq = new PriorityQueueBH(1);
+		for (Comparable value : values) {
+			pq.insert(value);
+		}
+		return pq;
+	}
+
+	public Object buildMaxHeap(Comparable[] values) {
+		return new BinaryHeap(values.clone());
+	}
+
+	public long removeRoot(Object heap) {
+		BinaryHeap binaryHeap = (BinaryHeap) heap;
+		long hash = 0;
+		while (!binaryHeap.isEmpty()) {
+			hash += binaryHeap.removeRoot().hashCode();
+		}
+		return hash;
+	}
+
+	public int contains(Object heap, Comparable[] probes) {
+		BinaryHeap binaryHeap = (BinaryHeap) heap;
+		int found = 0;
+		for (Comparable probe : probes) {
+			if (binaryHeap.contains(probe)) {
+				found++;
+			}
+		}
+		return found;
+	}
+
+	public Comparable[] heapSort(Comparable[] values) {
+		Comparable[] copy = values.clone();
+		HeapSort.sort(copy);
+		return copy;
+	}
+
+	public long runTrace(String heap, Comparable[] values, boolean[] trace) {
+		BasicPriorityQueue pq = heap.equals("pairing") ? new PairingHeap() : new PriorityQueueBH(16);
+		long hash = 0;
+		for (int i = 0; i < trace.length; i++) {
+			if (trace[i]) {
+				pq.insert(values[i]);
+			} else {
+				Comparable maximum = pq.extractMaximum();
+				if (maximum != null) {
+					hash += maximum.hashCode();
+				}
+			}
+		}
+		return hash;
+	}
+
+	public long merge(String heap, Comparable[] values, int deckSize) {
+		long hash = 0;
+		if (heap.equals("pairing")) {
+			PairingHeap merged = new PairingHeap();
+			for (int offset = 0; offset < values.length; offset += deckSize) {
+				PairingHeap deck = new PairingHeap();
+				for (int i = offset; i < Math.min(values.length, offset + deckSize); i++) {
+					deck.insert(values[i]);
+				}
+				merged.meld(deck);
+			}
+			for (int i = 0; i < values.length / 2; i++) {
+				hash += merged.extractMaximum().hashCode();
+			}
+		} else {
+			PriorityQueueBH merged = new PriorityQueueBH(16);
+			for (int offset = 0; offset < values.length; offset += deckSize) {
+				PriorityQueueBH deck = new PriorityQueueBH(deckSize);
+				for (int i = offset; i < Math.min(values.length, offset + deckSize); i++) {
+					deck.insert(values[i]);
+				}
+				merged.mergeFrom(deck);
+			}
+			for (int i = 0; i < values.length / 2; i++) {
+				hash += merged.extractMaximum().hashCode();
+			}
+		}
+		return hash;
+	}
+}
@@ -0,0 +1,129 @@
+package heapbench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * HeapBenchmark measures the hot paths of BinaryHeap and PriorityQueueBH with
+ * JMH: addElement, removeRoot, buildMaxHeap, contains, PriorityQueueBH.insert
+ * and HeapSort.sort, for each size, key distribution (random, sorted, reverse
+ * sorted, many duplicates) and element type (Integer, Slide). Every benchmark
+ * but contains processes the whole array of values, so its score is the time
+ * for size operations.
+ *
+ * Build and run it with
+ *
+ *   mvn -Pjmh package -DskipTests
+ *   java -jar target/benchmarks.jar HeapBenchmark [-p size=1000,100000]
+ *
+ * Run it before and after a change to the heap and compare the tables.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeapBenchmark {
+
+	// number of lookups timed by the contains benchmark (each one is O(n))
+	private static final int CONTAINS_PROBES = 100;
+
+	@Param({ "1000", "100000", "1000000" })
+	public int size;
+
+	@Param({ "random", "sorted", "reverse", "duplicates" })
+	public String distribution;
+
+	@Param({ "Integer", "Slide" })
+	public String type;
+
+	HeapOperations operations;
+	Comparable[] values;
+	private Object heap;
+	private Comparable[] probes;
+
+	@Setup(Level.Trial)
+	public void setUp() throws ReflectiveOperationException {
+		operations = (HeapOperations) Class.forName("HeapBenchmarkOperations").getDeclaredConstructor()
+				.newInstance();
+		values = operations.generate(type, distribution, size);
+		heap = operations.buildMaxHeap(values);
+		probes = operations.probes(values, CONTAINS_PROBES);
+	}
+
+	/**
+	 * A full heap for removeRoot, rebuilt before every call because removeRoot
+	 * drains it.
+	 */
+	@State(Scope.Thread)
+	public static class FullHeap {
+		Object heap;
+
+		@Setup(Level.Invocation)
+		public void fill(HeapBenchmark benchmark) {
+			heap = benchmark.operations.buildMaxHeap(benchmark.values);
+		}
+	}
+
+	@Benchmark
+	public Object addElement() {
+		return operations.addElement(values);
+	}
+
+	@Benchmark
+	public Object insert() {
+		return operations.insert(values);
+	}
+
+	@Benchmark
+	public Object buildMaxHeap() {
+		return operations.buildMaxHeap(values);
+	}
+
+	@Benchmark
+	public long removeRoot(FullHeap full) {
+		return operations.removeRoot(full.heap);
+	}
+
+	@Benchmark
+	public int contains() {
+		return operations.contains(heap, probes);
+	}
+
+	@Benchmark
+	public Object heapSort() {
+		return operations.heapSort(values);
+	}
+
+	/**
+	 * Runs the benchmarks, for the sizes given as arguments if any.
+	 *
+	 * @param args
+	 * @throws RunnerException
+	 */
+	public static void main(String[] args) throws RunnerException {
+		ChainedOptionsBuilder options = new OptionsBuilder().include(HeapBenchmark.class.getName());
+		if (args.length > 0) {
+			options.param("size", args);
+		}
+		new Runner(options.build()).run();
+	}
+}
@@ -0,0 +1,107 @@
+package heapbench;
+
+/**
+ * HeapOperations is the work measured by HeapBenchmark. The heaps live in the
+ * default package, which a class in a named package such as a JMH benchmark
+ * cannot refer to, so the work is done by HeapBenchmarkOperations in the
+ * default package behind this interface. Every call site has one implementation
+ * and is inlined by the JIT.
+ *
+ * @author Xueying Xu (Shirley)
+ */
+public interface HeapOperations {
+
+	/**
+	 * Generates size keys in the given distribution ("random", "sorted",
+	 * "reverse" or "duplicates"), wrapped in the given type ("Integer" or
+	 * "Slide").
+	 *
+	 * @param type
+	 * @param distribution
+	 * @param size
+	 * @return the generated values
+	 */
+	Comparable[] generate(String type, String distribution, int size);
+
+	/**
+	 * Returns probes for contains: half of them in values, half of them missing.
+	 *
+	 * @param values
+	 * @param count
+	 * @return the probes
+	 */
+	Comparable[] probes(Comparable[] values, int count);
+
+	/**
+	 * Adds the values one by one to an empty BinaryHeap.
+	 *
+	 * @param values
+	 * @return the heap
+	 */
+	Object addElement(Comparable[] values);
+
+	/**
+	 * Inserts the values one by one into an empty PriorityQueueBH.
+	 *
+	 * @param values
+	 * @return the priority queue
+	 */
+	Object insert(Comparable[] values);
+
+	/**
+	 * Builds a BinaryHeap from a copy of the values.
+	 *
+	 * @param values
+	 * @return the heap
+	 */
+	Object buildMaxHeap(Comparable[] values);
+
+	/**
+	 * Removes the root of a heap returned by buildMaxHeap until it is empty.
+	 *
+	 * @param heap
+	 * @return a value that depends on every removed element
+	 */
+	long removeRoot(Object heap);
+
+	/**
+	 * Looks up every probe in a heap returned by buildMaxHeap.
+	 *
+	 * @param heap
+	 * @param probes
+	 * @return the number of probes found
+	 */
+	int contains(Object heap, Comparable[] probes);
+
+	/**
+	 * Sorts a copy of the values with HeapSort.
+	 *
+	 * @param values
+	 * @return the sorted copy
+	 */
+	Comparable[] heapSort(Comparable[] values);
+
+	/**
+	 * Runs a trace on an empty priority queue of the given kind ("binary" for
+	 * PriorityQueueBH, "pairing" for PairingHeap): trace[i] true inserts
+	 * values[i], false extracts the maximum if the queue is not empty.
+	 *
+	 * @param heap
+	 * @param values
+	 * @param trace
+	 * @return a value that depends on every extracted element
+	 */
+	long runTrace(String heap, Comparable[] values, boolean[] trace);
+
+	/**
+	 * Builds decks of deckSize values, merges them one by one into a priority
+	 * queue of the given kind (mergeFrom for PriorityQueueBH, meld for
+	 * PairingHeap), then extracts half of the values.
+	 *
+	 * @param heap
+	 * @param values
+	 * @param deckSize
+	 * @return a value that depends on every extracted element
+	 */
+	long merge(String heap, Comparable[] values, int deckSize);
+}
@@ -0,0 +1,111 @@
+package heapbench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * PairingHeapBenchmark compares PriorityQueueBH ("binary") with PairingHeap
+ * ("pairing") with JMH on three traces of size operations each:
+ * <ul>
+ * <li>insertHeavy: 90% inserts, 10% extractions;</li>
+ * <li>mixed: inserts and extractions at random, half and half;</li>
+ * <li>merge: decks of DECK_SIZE elements are built and merged into one queue
+ * (mergeFrom for PriorityQueueBH, meld for PairingHeap), then half of them
+ * are extracted.</li>
+ * </ul>
+ * The values are random Integers.
+ *
+ * Build and run it with
+ *
+ *   mvn -Pjmh package -DskipTests
+ *   java -jar target/benchmarks.jar PairingHeapBenchmark [-p size=100000]
+ *
+ * @author Xueying Xu (Shirley)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PairingHeapBenchmark {
+
+	private static final int DECK_SIZE = 100;
+
+	@Param({ "100000", "1000000" })
+	public int size;
+
+	@Param({ "binary", "pairing" })
+	public String heap;
+
+	private HeapOperations operations;
+	private Comparable[] values;
+	private boolean[] insertHeavy;
+	private boolean[] mixed;
+
+	@Setup(Level.Trial)
+	public void setUp() throws ReflectiveOperationException {
+		operations = (HeapOperations) Class.forName("HeapBenchmarkOperations").getDeclaredConstructor()
+				.newInstance();
+		values = operations.generate("Integer", "random", size);
+		insertHeavy = randomTrace(size, 0.9);
+		mixed = randomTrace(size, 0.5);
+	}
+
+	/**
+	 * Returns a trace in which true means insert and false means extract.
+	 */
+	private static boolean[] randomTrace(int size, double insertFraction) {
+		Random random = new Random(7);
+		boolean[] trace = new boolean[size];
+		for (int i = 0; i < size; i++) {
+			trace[i] = random.nextDouble() < insertFraction;
+		}
+		return trace;
+	}
+
+	@Benchmark
+	public long insertHeavy() {
+		return operations.runTrace(heap, values, insertHeavy);
+	}
+
+	@Benchmark
+	public long mixed() {
+		return operations.runTrace(heap, values, mixed);
+	}
+
+	@Benchmark
+	public long merge() {
+		return operations.merge(heap, values, DECK_SIZE);
+	}
+
+	/**
+	 * Runs the benchmarks, for the sizes given as arguments if any.
+	 *
+	 * @param args
+	 * @throws RunnerException
+	 */
+	public static void main(String[] args) throws RunnerException {
+		ChainedOptionsBuilder options = new OptionsBuilder().include(PairingHeapBenchmark.class.getName());
+		if (args.length > 0) {
+			options.param("size", args);
+		}
+		new Runner(options.build()).run();
+	}
+}